@@ -0,0 +1,96 @@
+package com.adarsh.autho.forge.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-operation HDR latency histograms (microseconds) plus error/skip counters.
+ * Latency is measured from the <em>intended</em> send time, so queueing caused by a slow
+ * server shows up in the percentiles instead of silently lowering the send rate.
+ */
+final class LatencyReport {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = 60_000_000L;
+
+    private final Map<Operation, Recorder> recorders = new EnumMap<>(Operation.class);
+    private final Map<Operation, Histogram> totals = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> skipped = new EnumMap<>(Operation.class);
+    final AtomicLong dropped = new AtomicLong();
+    final AtomicLong timedOut = new AtomicLong();
+
+    LatencyReport() {
+        for (Operation operation : Operation.values()) {
+            recorders.put(operation, new Recorder(HIGHEST_TRACKABLE_MICROS, 3));
+            totals.put(operation, new Histogram(HIGHEST_TRACKABLE_MICROS, 3));
+            errors.put(operation, new LongAdder());
+            skipped.put(operation, new LongAdder());
+        }
+    }
+
+    void record(Operation operation, long latencyNanos, boolean success) {
+        recorders.get(operation).recordValue(Math.min(latencyNanos / 1000, HIGHEST_TRACKABLE_MICROS));
+        if (!success) {
+            errors.get(operation).increment();
+        }
+    }
+
+    void skip(Operation operation) {
+        skipped.get(operation).increment();
+    }
+
+    /**
+     * Moves everything recorded since the last call into the totals.
+     */
+    synchronized void collect() {
+        for (Operation operation : Operation.values()) {
+            totals.get(operation).add(recorders.get(operation).getIntervalHistogram());
+        }
+    }
+
+    void print(PrintStream out, double measuredSeconds, double targetRate) {
+        out.printf("%nTarget rate: %.1f req/s, measured window: %.1f s, dropped (max in-flight): %d, unfinished at drain deadline: %d%n",
+                targetRate, measuredSeconds, dropped.get(), timedOut.get());
+        out.printf("%-9s %9s %10s %7s %7s %9s %9s %9s %9s %9s%n",
+                "endpoint", "count", "req/s", "errors", "skipped", "p50 ms", "p99 ms", "p99.9 ms", "max ms", "mean ms");
+        for (Operation operation : Operation.values()) {
+            Histogram h = totals.get(operation);
+            out.printf("%-9s %9d %10.1f %7d %7d %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    operation.name().toLowerCase(),
+                    h.getTotalCount(),
+                    h.getTotalCount() / measuredSeconds,
+                    errors.get(operation).sum(),
+                    skipped.get(operation).sum(),
+                    h.getValueAtPercentile(50) / 1000.0,
+                    h.getValueAtPercentile(99) / 1000.0,
+                    h.getValueAtPercentile(99.9) / 1000.0,
+                    h.getMaxValue() / 1000.0,
+                    h.getMean() / 1000.0);
+        }
+    }
+
+    /**
+     * Writes one percentile distribution file per operation (HdrHistogram .hgrm format).
+     */
+    void writeDistributions(Path dir) throws IOException {
+        Files.createDirectories(dir);
+        for (Operation operation : Operation.values()) {
+            Histogram h = totals.get(operation);
+            if (h.getTotalCount() == 0) {
+                continue;
+            }
+            try (PrintStream out = new PrintStream(Files.newOutputStream(dir.resolve(operation.name().toLowerCase() + ".hgrm")))) {
+                h.outputPercentileDistribution(out, 1000.0);
+            }
+        }
+    }
+}
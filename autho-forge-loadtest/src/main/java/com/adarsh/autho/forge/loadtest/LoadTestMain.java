@@ -0,0 +1,33 @@
+package com.adarsh.autho.forge.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Entry point of the load-test jar.
+ * <pre>
+ * java -jar autho-forge-loadtest.jar [options]           run a load test
+ * java -jar autho-forge-loadtest.jar sample-server [...]  start only the sample resource server
+ * java -jar autho-forge-loadtest.jar startup [...]        measure service startup-to-ready per packaging mode
+ * java -jar autho-forge-loadtest.jar kms [...]            start only the KMS stand-in for the remote signer
+ * </pre>
+ */
+public class LoadTestMain {
+
+    public static final String SAMPLE_SERVER_COMMAND = "sample-server";
+
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0 && SAMPLE_SERVER_COMMAND.equals(args[0])) {
+            SampleResourceServerApplication.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+        if (args.length > 0 && StartupBenchmark.COMMAND.equals(args[0])) {
+            StartupBenchmark.run(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+        if (args.length > 0 && KmsStandIn.COMMAND.equals(args[0])) {
+            KmsStandIn.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+        LoadTestRunner.run(LoadTestOptions.parse(args));
+    }
+}
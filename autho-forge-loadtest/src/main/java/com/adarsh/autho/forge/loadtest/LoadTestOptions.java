@@ -0,0 +1,114 @@
+package com.adarsh.autho.forge.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Command line options, all given as {@code --name=value}.
+ */
+public class LoadTestOptions {
+
+    /** Base URL of an already running auth service, the service jar is started when empty */
+    String authUrl;
+    /** Boot jar of autho-forge-service, started on authPort when authUrl is empty */
+    Path serviceJar = Path.of("autho-forge-service/target/autho-forge-service-1.0.0-SNAPSHOT.jar");
+    int authPort = 18080;
+    /** Base URL of an already running resource server, the sample server is started when empty */
+    String apiUrl;
+    int apiPort = 18081;
+    /** Extra JVM options for started servers, e.g. "-Xmx512m -XX:+UseZGC" */
+    String serverJvmOptions = "";
+    /** Token signer of the started auth service: "local", or "remote" through a KMS stand-in on kmsPort */
+    String signer = "local";
+    int kmsPort = 18082;
+    /** Round trip the KMS stand-in adds to every signing call */
+    Duration kmsLatency = Duration.ofMillis(2);
+
+    /** Target arrival rate in requests per second, independent of response times */
+    double rate = 200;
+    Duration warmup = Duration.ofSeconds(10);
+    Duration duration = Duration.ofSeconds(60);
+    /** Users registered up front, used for login/refresh/API traffic */
+    int users = 50;
+    Map<Operation, Integer> mix = defaultMix();
+    /** Requests beyond this many outstanding are dropped and counted, protects the driver's heap */
+    int maxInFlight = 20_000;
+    Path out = Path.of("target/loadtest");
+    long seed = 42;
+
+    static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            int eq = arg.indexOf('=');
+            values.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+
+        LoadTestOptions options = new LoadTestOptions();
+        options.authUrl = values.remove("auth-url");
+        options.apiUrl = values.remove("api-url");
+        if (values.containsKey("service-jar")) options.serviceJar = Path.of(values.remove("service-jar"));
+        if (values.containsKey("auth-port")) options.authPort = Integer.parseInt(values.remove("auth-port"));
+        if (values.containsKey("api-port")) options.apiPort = Integer.parseInt(values.remove("api-port"));
+        if (values.containsKey("server-jvm-options")) options.serverJvmOptions = values.remove("server-jvm-options");
+        if (values.containsKey("signer")) options.signer = values.remove("signer");
+        if (values.containsKey("kms-port")) options.kmsPort = Integer.parseInt(values.remove("kms-port"));
+        if (values.containsKey("kms-latency")) options.kmsLatency = parseDuration(values.remove("kms-latency"));
+        if (values.containsKey("rate")) options.rate = Double.parseDouble(values.remove("rate"));
+        if (values.containsKey("warmup")) options.warmup = parseDuration(values.remove("warmup"));
+        if (values.containsKey("duration")) options.duration = parseDuration(values.remove("duration"));
+        if (values.containsKey("users")) options.users = Integer.parseInt(values.remove("users"));
+        if (values.containsKey("mix")) options.mix = parseMix(values.remove("mix"));
+        if (values.containsKey("max-in-flight")) options.maxInFlight = Integer.parseInt(values.remove("max-in-flight"));
+        if (values.containsKey("out")) options.out = Path.of(values.remove("out"));
+        if (values.containsKey("seed")) options.seed = Long.parseLong(values.remove("seed"));
+
+        if (!values.isEmpty()) {
+            throw new IllegalArgumentException("Unknown options: " + values.keySet());
+        }
+        if (!options.signer.equals("local") && !options.signer.equals("remote")) {
+            throw new IllegalArgumentException("--signer must be local or remote");
+        }
+        if (options.rate <= 0) {
+            throw new IllegalArgumentException("--rate must be positive");
+        }
+        return options;
+    }
+
+    /**
+     * Accepts 500ms, 30s, 2m or an ISO-8601 duration.
+     */
+    static Duration parseDuration(String value) {
+        if (value.endsWith("ms")) return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+        if (value.endsWith("s")) return Duration.ofSeconds(Long.parseLong(value.substring(0, value.length() - 1)));
+        if (value.endsWith("m")) return Duration.ofMinutes(Long.parseLong(value.substring(0, value.length() - 1)));
+        return Duration.parse(value);
+    }
+
+    /**
+     * Parses weights like {@code login=10,api=70}; operations not listed get weight 0.
+     */
+    static Map<Operation, Integer> parseMix(String value) {
+        Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+        for (String part : value.split(",")) {
+            String[] kv = part.trim().split("=");
+            mix.put(Operation.valueOf(kv[0].trim().toUpperCase()), Integer.parseInt(kv[1].trim()));
+        }
+        return mix;
+    }
+
+    private static Map<Operation, Integer> defaultMix() {
+        Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+        mix.put(Operation.REGISTER, 2);
+        mix.put(Operation.LOGIN, 10);
+        mix.put(Operation.REFRESH, 5);
+        mix.put(Operation.JWKS, 13);
+        mix.put(Operation.API, 70);
+        return mix;
+    }
+}
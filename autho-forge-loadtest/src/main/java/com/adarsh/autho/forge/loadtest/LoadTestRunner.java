@@ -0,0 +1,139 @@
+package com.adarsh.autho.forge.loadtest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Starts the servers (unless external URLs are given), seeds users, runs the
+ * open-loop driver and writes the report.
+ */
+final class LoadTestRunner {
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2);
+
+    private LoadTestRunner() {
+    }
+
+    static void run(LoadTestOptions options) throws Exception {
+        List<AutoCloseable> servers = new ArrayList<>();
+        try {
+            URI authBase = options.authUrl != null ? URI.create(options.authUrl) : startAuthService(options, servers);
+            URI apiBase = options.apiUrl != null ? URI.create(options.apiUrl) : startSampleServer(options, authBase, servers);
+
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .build();
+
+            Workload workload = new Workload(authBase, apiBase,
+                    "lt" + Long.toString(System.currentTimeMillis(), 36), options.users);
+            seedUsers(client, workload);
+
+            LatencyReport report = new LatencyReport();
+            System.out.printf("Running %s warmup + %s at %.1f req/s (mix %s)%n",
+                    options.warmup, options.duration, options.rate, options.mix);
+            new OpenLoopDriver(client, workload, report, options)
+                    .run(options.warmup.toNanos(), options.duration.toNanos());
+            report.collect();
+
+            double seconds = options.duration.toMillis() / 1000.0;
+            report.print(System.out, seconds, options.rate);
+
+            Files.createDirectories(options.out);
+            ByteArrayOutputStream summary = new ByteArrayOutputStream();
+            try (PrintStream out = new PrintStream(summary, true, StandardCharsets.UTF_8)) {
+                report.print(out, seconds, options.rate);
+            }
+            Files.write(options.out.resolve("summary.txt"), summary.toByteArray());
+            report.writeDistributions(options.out);
+            System.out.println("Report written to " + options.out.toAbsolutePath());
+        } finally {
+            for (int i = servers.size() - 1; i >= 0; i--) {
+                servers.get(i).close();
+            }
+        }
+    }
+
+    private static URI startAuthService(LoadTestOptions options, List<AutoCloseable> servers) throws Exception {
+        if (!Files.exists(options.serviceJar)) {
+            throw new IOException("Service jar not found: " + options.serviceJar
+                    + " (build it with mvn package or pass --service-jar / --auth-url)");
+        }
+        URI base = URI.create("http://localhost:" + options.authPort);
+        // all simulated users share one address, the login/register limits would reject most of the mix
+        List<String> args = new ArrayList<>(List.of("--server.port=" + options.authPort, "--autho.forge.rate-limit.enabled=false"));
+        if (options.signer.equals("remote")) {
+            args.addAll(startKms(options, servers));
+        }
+        System.out.println("Starting auth service on " + base);
+        servers.add(ServerProcess.start("auth-service", options.serverJvmOptions,
+                List.of("-jar", options.serviceJar.toString()), args,
+                base.resolve("/.well-known/jwks.json"), STARTUP_TIMEOUT, options.out, 200));
+        return base;
+    }
+
+    /**
+     * Starts the KMS stand-in and returns the service arguments that sign through it.
+     */
+    private static List<String> startKms(LoadTestOptions options, List<AutoCloseable> servers) throws Exception {
+        URI kms = URI.create("http://localhost:" + options.kmsPort);
+        System.out.println("Starting KMS stand-in on " + kms + " (latency " + options.kmsLatency + ")");
+        servers.add(ServerProcess.start("kms", options.serverJvmOptions,
+                List.of("-cp", System.getProperty("java.class.path"), LoadTestMain.class.getName()),
+                List.of(KmsStandIn.COMMAND, "--port=" + options.kmsPort, "--latency=" + options.kmsLatency.toMillis() + "ms"),
+                kms.resolve("/keys/" + KmsStandIn.DEFAULT_KID), STARTUP_TIMEOUT, options.out, 200));
+        return List.of("--autho.forge.signer.type=remote",
+                "--autho.forge.signer.remote.url=" + kms,
+                "--autho.forge.signer.remote.key-id=" + KmsStandIn.DEFAULT_KID);
+    }
+
+    private static URI startSampleServer(LoadTestOptions options, URI authBase, List<AutoCloseable> servers) throws Exception {
+        URI base = URI.create("http://localhost:" + options.apiPort);
+        System.out.println("Starting sample resource server on " + base);
+        servers.add(ServerProcess.start("sample-server", options.serverJvmOptions,
+                List.of("-cp", System.getProperty("java.class.path"), LoadTestMain.class.getName()),
+                List.of(LoadTestMain.SAMPLE_SERVER_COMMAND,
+                        "--server.port=" + options.apiPort,
+                        "--autho.forge.enabled=true",
+                        "--autho.forge.jwk-set-uri=" + authBase.resolve("/.well-known/jwks.json")),
+                base.resolve("/api/orders"), STARTUP_TIMEOUT, options.out, 401, 403));
+        return base;
+    }
+
+    /**
+     * Registers and logs in every user before the clock starts, so API and refresh
+     * traffic have tokens from the first request on.
+     */
+    private static void seedUsers(HttpClient client, Workload workload) {
+        System.out.println("Registering " + workload.sessions().length + " users");
+        List<CompletableFuture<?>> pending = new ArrayList<>();
+        for (Workload.Session session : workload.sessions()) {
+            pending.add(client.sendAsync(workload.register(session), HttpResponse.BodyHandlers.ofString())
+                    .thenCompose(registered -> {
+                        expectOk("register " + session.username, registered);
+                        return client.sendAsync(workload.login(session), HttpResponse.BodyHandlers.ofString());
+                    })
+                    .thenAccept(loggedIn -> {
+                        expectOk("login " + session.username, loggedIn);
+                        workload.storeTokens(session, loggedIn.body());
+                    }));
+        }
+        CompletableFuture.allOf(pending.toArray(CompletableFuture[]::new)).join();
+    }
+
+    private static void expectOk(String what, HttpResponse<String> response) {
+        if (response.statusCode() / 100 != 2) {
+            throw new IllegalStateException(what + " failed with " + response.statusCode() + ": " + response.body());
+        }
+    }
+}
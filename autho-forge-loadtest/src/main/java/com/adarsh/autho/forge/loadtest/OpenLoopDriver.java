@@ -0,0 +1,135 @@
+package com.adarsh.autho.forge.loadtest;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Sends requests on a fixed schedule regardless of how fast responses come back.
+ * <p>
+ * Request {@code i} is due at {@code t0 + i / rate}. Its latency is taken from that
+ * intended time, not from when it was actually handed to the client, so a stalled
+ * server is charged for every request that should have been sent meanwhile
+ * (no coordinated omission). Requests are sent asynchronously and never wait for
+ * each other; {@code maxInFlight} only guards the driver against running out of memory.
+ * Measured requests still outstanding when the drain deadline passes are recorded as
+ * failures at that point, so they count against the percentiles instead of vanishing.
+ */
+final class OpenLoopDriver {
+
+    private final HttpClient client;
+    private final Workload workload;
+    private final LatencyReport report;
+    private final Operation[] weighted;
+    private final Random random;
+    private final long periodNanos;
+    private final int maxInFlight;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    /** Measured requests without an outcome yet, whoever removes the entry records it */
+    private final Map<Long, Outstanding> outstanding = new ConcurrentHashMap<>();
+
+    private record Outstanding(Operation operation, long intended) {
+    }
+
+    OpenLoopDriver(HttpClient client, Workload workload, LatencyReport report, LoadTestOptions options) {
+        this.client = client;
+        this.workload = workload;
+        this.report = report;
+        this.weighted = weighted(options.mix);
+        this.random = new Random(options.seed);
+        this.periodNanos = (long) (TimeUnit.SECONDS.toNanos(1) / options.rate);
+        this.maxInFlight = options.maxInFlight;
+    }
+
+    /**
+     * Runs warmup then the measured window. Only requests whose intended start falls
+     * in the measured window are recorded; returns once they have all completed or timed out.
+     */
+    void run(long warmupNanos, long durationNanos) throws InterruptedException {
+        long t0 = System.nanoTime();
+        long measureFrom = t0 + warmupNanos;
+        long end = measureFrom + durationNanos;
+
+        for (long i = 0; ; i++) {
+            long intended = t0 + i * periodNanos;
+            if (intended >= end) {
+                break;
+            }
+            long wait;
+            while ((wait = intended - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            send(i, weighted[random.nextInt(weighted.length)], intended, intended >= measureFrom);
+        }
+
+        long drainDeadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(35);
+        while (inFlight.get() > 0 && System.nanoTime() < drainDeadline) {
+            Thread.sleep(50);
+        }
+        long now = System.nanoTime();
+        for (Long sequence : outstanding.keySet()) {
+            Outstanding left = outstanding.remove(sequence);
+            if (left != null) {
+                report.timedOut.incrementAndGet();
+                report.record(left.operation(), now - left.intended(), false);
+            }
+        }
+    }
+
+    private void send(long sequence, Operation operation, long intended, boolean measured) {
+        Workload.Prepared prepared = workload.prepare(operation);
+        if (prepared == null) {
+            if (measured) {
+                report.skip(operation);
+            }
+            return;
+        }
+        if (inFlight.incrementAndGet() > maxInFlight) {
+            inFlight.decrementAndGet();
+            workload.onFailure(prepared);
+            if (measured) {
+                report.dropped.incrementAndGet();
+                report.record(operation, System.nanoTime() - intended, false);
+            }
+            return;
+        }
+        if (measured) {
+            outstanding.put(sequence, new Outstanding(operation, intended));
+        }
+        client.sendAsync(prepared.request(), HttpResponse.BodyHandlers.ofString())
+                .whenComplete((response, error) -> {
+                    long latency = System.nanoTime() - intended;
+                    boolean success;
+                    if (error != null) {
+                        workload.onFailure(prepared);
+                        success = false;
+                    } else {
+                        success = workload.onResponse(prepared, response);
+                    }
+                    if (measured && outstanding.remove(sequence) != null) {
+                        report.record(operation, latency, success);
+                    }
+                    inFlight.decrementAndGet();
+                });
+    }
+
+    private static Operation[] weighted(Map<Operation, Integer> mix) {
+        int total = mix.values().stream().mapToInt(Integer::intValue).sum();
+        if (total <= 0) {
+            throw new IllegalArgumentException("--mix needs at least one positive weight");
+        }
+        Operation[] table = new Operation[total];
+        int index = 0;
+        for (Map.Entry<Operation, Integer> entry : mix.entrySet()) {
+            for (int i = 0; i < entry.getValue(); i++) {
+                table[index++] = entry.getKey();
+            }
+        }
+        return table;
+    }
+}
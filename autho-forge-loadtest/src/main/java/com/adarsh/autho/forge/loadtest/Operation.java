@@ -0,0 +1,12 @@
+package com.adarsh.autho.forge.loadtest;
+
+/**
+ * Kinds of requests the driver sends; each gets its own latency histogram.
+ */
+public enum Operation {
+    REGISTER,
+    LOGIN,
+    REFRESH,
+    JWKS,
+    API,
+}
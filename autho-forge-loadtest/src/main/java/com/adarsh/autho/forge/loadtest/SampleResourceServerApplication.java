@@ -0,0 +1,34 @@
+package com.adarsh.autho.forge.loadtest;
+
+import com.adarsh.autho.forge.security.JwtAuthenticationToken;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Minimal resource server protected by autho-forge-starter, the target of API traffic.
+ */
+@SpringBootApplication
+public class SampleResourceServerApplication {
+
+    public static void main(String[] args) {
+        SpringApplication.run(SampleResourceServerApplication.class, args);
+    }
+
+    @RestController
+    static class OrdersController {
+
+        @GetMapping("/api/orders")
+        public Map<String, Object> orders() {
+            JwtAuthenticationToken auth = (JwtAuthenticationToken) SecurityContextHolder.getContext().getAuthentication();
+            return Map.of(
+                    "userId", auth.getUserId(),
+                    "orders", List.of(Map.of("id", 1, "total", 42)));
+        }
+    }
+}
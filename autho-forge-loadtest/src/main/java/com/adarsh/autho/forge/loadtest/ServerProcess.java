@@ -0,0 +1,96 @@
+package com.adarsh.autho.forge.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A server started in its own JVM, so its CPU and GC never mix with the load driver's.
+ */
+public final class ServerProcess implements AutoCloseable {
+
+    private final String name;
+    private final Process process;
+    private final Path log;
+
+    private ServerProcess(String name, Process process, Path log) {
+        this.name = name;
+        this.process = process;
+        this.log = log;
+    }
+
+    /**
+     * Starts {@code java [jvmOptions] [launch...] [args...]} and waits until {@code readinessUrl}
+     * answers with one of the expected status codes.
+     */
+    public static ServerProcess start(String name, String jvmOptions, List<String> launch, List<String> args,
+                                      URI readinessUrl, Duration timeout, Path logDir, int... readyStatuses)
+            throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        if (jvmOptions != null && !jvmOptions.isBlank()) {
+            command.addAll(Arrays.asList(jvmOptions.trim().split("\\s+")));
+        }
+        command.addAll(launch);
+        command.addAll(args);
+
+        Files.createDirectories(logDir);
+        Path log = logDir.resolve(name + ".log");
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+        ServerProcess server = new ServerProcess(name, process, log);
+
+        try {
+            server.awaitReady(readinessUrl, timeout, readyStatuses);
+        } catch (IOException | InterruptedException | RuntimeException e) {
+            server.close();
+            throw e;
+        }
+        return server;
+    }
+
+    private void awaitReady(URI url, Duration timeout, int... readyStatuses) throws IOException, InterruptedException {
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IOException(name + " exited with code " + process.exitValue() + ", see " + log);
+            }
+            try {
+                int status = client.send(HttpRequest.newBuilder(url).timeout(Duration.ofSeconds(2)).build(),
+                        HttpResponse.BodyHandlers.discarding()).statusCode();
+                for (int ready : readyStatuses) {
+                    if (status == ready) {
+                        return;
+                    }
+                }
+            } catch (IOException notYetListening) {
+                // keep polling
+            }
+            Thread.sleep(20);
+        }
+        throw new IOException(name + " not ready within " + timeout + ", see " + log);
+    }
+
+    public Path log() {
+        return log;
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        process.destroy();
+        if (!process.waitFor(10, java.util.concurrent.TimeUnit.SECONDS)) {
+            process.destroyForcibly().waitFor();
+        }
+    }
+}
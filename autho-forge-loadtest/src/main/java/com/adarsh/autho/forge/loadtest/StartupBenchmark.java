@@ -0,0 +1,162 @@
+package com.adarsh.autho.forge.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.ZipFile;
+
+/**
+ * Measures startup-to-ready of the auth service per packaging mode: from process launch until
+ * {@code /actuator/health} answers 200, plus the "Started ... in" time Spring Boot logs itself.
+ * <p>
+ * The benchmark extracts the jar and records its own CDS archives (one per AOT setting),
+ * so every mode runs against an archive created by this very JVM.
+ * AOT modes need a jar built with {@code mvn -Paot package} and are skipped otherwise.
+ * <pre>
+ * java -jar autho-forge-loadtest.jar startup [--service-jar=...] [--runs=5] [--modes=jar,extracted,cds,aot,aot-cds]
+ * </pre>
+ */
+final class StartupBenchmark {
+
+    static final String COMMAND = "startup";
+
+    private static final Pattern STARTED = Pattern.compile("Started \\S+ in ([0-9.]+) seconds");
+    private static final Duration TIMEOUT = Duration.ofMinutes(2);
+
+    private StartupBenchmark() {
+    }
+
+    static void run(String[] args) throws Exception {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (!arg.startsWith("--") || eq < 0) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            values.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+        Path serviceJar = Path.of(values.getOrDefault("service-jar", new LoadTestOptions().serviceJar.toString()));
+        int runs = Integer.parseInt(values.getOrDefault("runs", "5"));
+        int port = Integer.parseInt(values.getOrDefault("port", "18080"));
+        Path out = Path.of(values.getOrDefault("out", "target/startup"));
+        String jvmOptions = values.getOrDefault("server-jvm-options", "");
+        List<String> modes = Arrays.asList(values.getOrDefault("modes", "jar,extracted,cds,aot,aot-cds").split(","));
+
+        if (!Files.exists(serviceJar)) {
+            throw new IOException("Service jar not found: " + serviceJar);
+        }
+        Files.createDirectories(out);
+        Path extracted = out.resolve("extracted");
+        Path app = extract(serviceJar, extracted, out);
+        boolean aotProcessed = hasAotClasses(app);
+
+        Map<String, List<String>> flagsByMode = new LinkedHashMap<>();
+        for (String mode : modes) {
+            List<String> flags = new ArrayList<>();
+            boolean aot = mode.startsWith("aot");
+            if (aot && !aotProcessed) {
+                System.out.println("Skipping " + mode + ": " + serviceJar + " was not built with -Paot");
+                continue;
+            }
+            if (aot) {
+                flags.add("-Dspring.aot.enabled=true");
+            }
+            if (mode.endsWith("cds")) {
+                Path archive = out.resolve(aot ? "app-aot.jsa" : "app.jsa");
+                if (!Files.exists(archive)) {
+                    train(app, archive, aot, out);
+                }
+                flags.add("-XX:SharedArchiveFile=" + archive);
+                // fail instead of silently running without the archive
+                flags.add("-Xshare:on");
+            }
+            flagsByMode.put(mode, flags);
+        }
+
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("%-10s %6s %12s %12s %12s %14s%n",
+                "mode", "runs", "ready min", "ready p50", "ready max", "started p50"));
+        for (Map.Entry<String, List<String>> entry : flagsByMode.entrySet()) {
+            String mode = entry.getKey();
+            List<String> launch = new ArrayList<>(entry.getValue());
+            launch.add("-jar");
+            launch.add(mode.equals("jar") ? serviceJar.toString() : app.toString());
+
+            long[] readyMillis = new long[runs];
+            double[] startedSeconds = new double[runs];
+            for (int i = 0; i < runs; i++) {
+                long start = System.nanoTime();
+                try (ServerProcess server = ServerProcess.start("startup-" + mode, jvmOptions, launch,
+                        List.of("--server.port=" + port),
+                        URI.create("http://localhost:" + port + "/actuator/health"), TIMEOUT, out, 200)) {
+                    readyMillis[i] = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                    startedSeconds[i] = startedSeconds(server.log());
+                }
+                System.out.printf("%s run %d: ready in %d ms%n", mode, i + 1, readyMillis[i]);
+            }
+            Arrays.sort(readyMillis);
+            Arrays.sort(startedSeconds);
+            report.append(String.format("%-10s %6d %10d ms %10d ms %10d ms %12.2f s%n", mode, runs,
+                    readyMillis[0], readyMillis[runs / 2], readyMillis[runs - 1], startedSeconds[runs / 2]));
+        }
+
+        System.out.println();
+        System.out.print(report);
+        Files.writeString(out.resolve("startup.txt"), report);
+        System.out.println("Report written to " + out.resolve("startup.txt").toAbsolutePath());
+    }
+
+    private static Path extract(Path jar, Path destination, Path logDir) throws IOException, InterruptedException {
+        exec(logDir.resolve("extract.log"), "-Djarmode=tools", "-jar", jar.toString(),
+                "extract", "--force", "--destination", destination.toString());
+        return destination.resolve(jar.getFileName());
+    }
+
+    /**
+     * Training run: starts the context, exits right after refresh and dumps the loaded classes.
+     */
+    private static void train(Path app, Path archive, boolean aot, Path logDir) throws IOException, InterruptedException {
+        System.out.println("Recording CDS archive " + archive);
+        exec(logDir.resolve(archive.getFileName() + ".log"),
+                "-XX:ArchiveClassesAtExit=" + archive,
+                "-Dspring.context.exit=onRefresh",
+                "-Dspring.aot.enabled=" + aot,
+                "-jar", app.toString());
+    }
+
+    private static void exec(Path log, String... args) throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(Arrays.asList(args));
+        int exit = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start()
+                .waitFor();
+        if (exit != 0) {
+            throw new IOException(String.join(" ", command) + " failed with exit code " + exit + ", see " + log);
+        }
+    }
+
+    private static boolean hasAotClasses(Path app) throws IOException {
+        try (ZipFile zip = new ZipFile(app.toFile())) {
+            return zip.stream().anyMatch(entry -> entry.getName().endsWith("__ApplicationContextInitializer.class"));
+        }
+    }
+
+    private static double startedSeconds(Path log) throws IOException {
+        Matcher matcher = STARTED.matcher(Files.readString(log));
+        return matcher.find() ? Double.parseDouble(matcher.group(1)) : Double.NaN;
+    }
+}
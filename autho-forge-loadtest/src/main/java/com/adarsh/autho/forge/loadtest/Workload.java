@@ -0,0 +1,176 @@
+package com.adarsh.autho.forge.loadtest;
+
+import com.nimbusds.jose.util.JSONObjectUtils;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Builds requests for each {@link Operation} and keeps the client-side state
+ * (credentials, access tokens, single-use refresh tokens, JWKS ETag) up to date from responses.
+ */
+final class Workload {
+
+    static final String PASSWORD = "load-test-password";
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    /** A registered user; a session is used by at most one refresh at a time. */
+    static final class Session {
+        final int index;
+        final String username;
+        volatile String refreshToken;
+
+        Session(int index, String username) {
+            this.index = index;
+            this.username = username;
+        }
+    }
+
+    private final URI authBase;
+    private final URI apiBase;
+    private final String runId;
+
+    private final Session[] sessions;
+    private final AtomicReferenceArray<String> accessTokens;
+    private final Queue<Session> idleForRefresh = new ConcurrentLinkedQueue<>();
+    private final AtomicLong registrations = new AtomicLong();
+    private volatile String jwksEtag;
+
+    Workload(URI authBase, URI apiBase, String runId, int users) {
+        this.authBase = authBase;
+        this.apiBase = apiBase;
+        this.runId = runId;
+        this.sessions = new Session[users];
+        this.accessTokens = new AtomicReferenceArray<>(users);
+        for (int i = 0; i < users; i++) {
+            sessions[i] = new Session(i, runId + "-u" + i);
+        }
+    }
+
+    Session[] sessions() {
+        return sessions;
+    }
+
+    /**
+     * Request for {@code operation}, or null when it cannot be sent right now
+     * (e.g. every session is busy refreshing).
+     */
+    Prepared prepare(Operation operation) {
+        return switch (operation) {
+            case REGISTER -> {
+                String username = runId + "-r" + registrations.incrementAndGet();
+                yield new Prepared(operation, post("/auth/register", credentials(username)), null);
+            }
+            case LOGIN -> {
+                Session session = randomSession();
+                yield new Prepared(operation, post("/auth/login", credentials(session.username)), session);
+            }
+            case REFRESH -> {
+                Session session = idleForRefresh.poll();
+                yield session == null ? null : new Prepared(operation,
+                        post("/auth/refresh", "{\"refresh_token\":\"" + session.refreshToken + "\"}"), session);
+            }
+            case JWKS -> {
+                HttpRequest.Builder builder = HttpRequest.newBuilder(authBase.resolve("/.well-known/jwks.json"))
+                        .timeout(REQUEST_TIMEOUT).GET();
+                String etag = jwksEtag;
+                if (etag != null) {
+                    builder.header("If-None-Match", etag);
+                }
+                yield new Prepared(operation, builder.build(), null);
+            }
+            case API -> {
+                String token = accessTokens.get(randomSession().index);
+                yield token == null ? null : new Prepared(operation,
+                        HttpRequest.newBuilder(apiBase.resolve("/api/orders"))
+                                .timeout(REQUEST_TIMEOUT)
+                                .header("Authorization", "Bearer " + token)
+                                .GET().build(), null);
+            }
+        };
+    }
+
+    /**
+     * Applies a response to client state and tells whether it counts as a success.
+     */
+    boolean onResponse(Prepared prepared, HttpResponse<String> response) {
+        int status = response.statusCode();
+        switch (prepared.operation()) {
+            case LOGIN, REFRESH -> {
+                if (status == 200) {
+                    storeTokens(prepared.session(), response.body());
+                }
+                if (prepared.operation() == Operation.REFRESH) {
+                    idleForRefresh.add(prepared.session());
+                }
+                return status == 200;
+            }
+            case JWKS -> {
+                response.headers().firstValue("ETag").ifPresent(etag -> jwksEtag = etag);
+                return status == 200 || status == 304;
+            }
+            default -> {
+                return status == 200;
+            }
+        }
+    }
+
+    /**
+     * A refresh that failed at the transport level still hands its session back.
+     */
+    void onFailure(Prepared prepared) {
+        if (prepared.operation() == Operation.REFRESH) {
+            idleForRefresh.add(prepared.session());
+        }
+    }
+
+    HttpRequest register(Session session) {
+        return post("/auth/register", credentials(session.username));
+    }
+
+    HttpRequest login(Session session) {
+        return post("/auth/login", credentials(session.username));
+    }
+
+    void storeTokens(Session session, String body) {
+        try {
+            var json = JSONObjectUtils.parse(body);
+            accessTokens.set(session.index, JSONObjectUtils.getString(json, "access_token"));
+            String refreshToken = JSONObjectUtils.getString(json, "refresh_token");
+            if (refreshToken != null && session.refreshToken == null) {
+                session.refreshToken = refreshToken;
+                idleForRefresh.add(session);
+            } else if (refreshToken != null) {
+                session.refreshToken = refreshToken;
+            }
+        } catch (java.text.ParseException e) {
+            throw new IllegalStateException("Unexpected token response: " + body, e);
+        }
+    }
+
+    private Session randomSession() {
+        return sessions[ThreadLocalRandom.current().nextInt(sessions.length)];
+    }
+
+    private HttpRequest post(String path, String json) {
+        return HttpRequest.newBuilder(authBase.resolve(path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private static String credentials(String username) {
+        return "{\"username\":\"" + username + "\",\"password\":\"" + PASSWORD + "\"}";
+    }
+
+    record Prepared(Operation operation, HttpRequest request, Session session) {
+    }
+}
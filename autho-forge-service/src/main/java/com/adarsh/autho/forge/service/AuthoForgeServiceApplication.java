@@ -2,8 +2,10 @@ package com.adarsh.autho.forge.service;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class AuthoForgeServiceApplication {
     public static void main(String args[]){
         SpringApplication.run(AuthoForgeServiceApplication.class, args);
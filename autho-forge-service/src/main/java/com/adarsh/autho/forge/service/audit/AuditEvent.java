@@ -0,0 +1,12 @@
+package com.adarsh.autho.forge.service.audit;
+
+import com.adarsh.autho.forge.service.enums.AuditEventType;
+
+import java.time.LocalDateTime;
+
+/**
+ * Immutable audit event as it sits in the buffer.
+ */
+public record AuditEvent(AuditEventType type, Long userId, String username, String failureReason,
+                         ClientInfo client, LocalDateTime occurredAt) {
+}
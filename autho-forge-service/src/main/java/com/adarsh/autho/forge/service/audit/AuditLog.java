@@ -0,0 +1,196 @@
+package com.adarsh.autho.forge.service.audit;
+
+import com.adarsh.autho.forge.service.config.AuditProperties;
+import com.adarsh.autho.forge.service.enums.AuditEventType;
+import com.adarsh.autho.forge.service.enums.AuditOverflowPolicy;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Asynchronous authentication audit trail.
+ * <p>
+ * Request threads only put an immutable event into a bounded ring buffer; a single
+ * background writer drains it and inserts rows with JDBC batch statements. When the buffer
+ * is full the configured overflow policy applies and dropped events are counted, so audit
+ * volume or a slow database never adds latency beyond {@code block-timeout} to login.
+ */
+@Service
+public class AuditLog {
+
+    private static final Logger log = LoggerFactory.getLogger(AuditLog.class);
+
+    private static final String INSERT_SQL = "INSERT INTO auth_audit_events "
+            + "(event_type, user_id, username, failure_reason, ip_address, user_agent, device_id, occurred_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final AuditProperties properties;
+    private final JdbcTemplate jdbcTemplate;
+    private final AuditRingBuffer<AuditEvent> buffer;
+
+    private final Counter accepted;
+    private final Counter dropped;
+    private final Counter written;
+    private final Counter writeFailures;
+    private final Timer batchTimer;
+
+    private Thread writer;
+    private volatile boolean running;
+    private volatile long shutdownDeadline;
+
+    @Autowired
+    public AuditLog(AuditProperties properties, JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.jdbcTemplate = jdbcTemplate;
+        this.buffer = new AuditRingBuffer<>(properties.getBufferCapacity());
+
+        this.accepted = Counter.builder("autho.forge.audit.events")
+                .description("Audit events offered to the buffer")
+                .tag("outcome", "accepted")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("autho.forge.audit.events")
+                .description("Audit events offered to the buffer")
+                .tag("outcome", "dropped")
+                .register(meterRegistry);
+        this.written = Counter.builder("autho.forge.audit.written")
+                .description("Audit rows inserted")
+                .register(meterRegistry);
+        this.writeFailures = Counter.builder("autho.forge.audit.write.failures")
+                .description("Audit rows lost because a batch insert failed")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("autho.forge.audit.batch")
+                .description("Duration of one audit batch insert")
+                .register(meterRegistry);
+        Gauge.builder("autho.forge.audit.buffer.size", buffer, AuditRingBuffer::size)
+                .description("Audit events waiting to be written")
+                .register(meterRegistry);
+    }
+
+    public void record(AuditEventType type, Long userId, String username, String failureReason, ClientInfo client) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        // failed logins carry whatever username the client sent, keep it within the column
+        String storedUsername = username != null && username.length() > 50 ? username.substring(0, 50) : username;
+        AuditEvent event = new AuditEvent(type, userId, storedUsername, failureReason,
+                client != null ? client : ClientInfo.UNKNOWN, LocalDateTime.now());
+        if (buffer.offer(event) || (properties.getOverflowPolicy() == AuditOverflowPolicy.BLOCK && offerWithTimeout(event))) {
+            accepted.increment();
+        } else {
+            dropped.increment();
+        }
+    }
+
+    private boolean offerWithTimeout(AuditEvent event) {
+        long deadline = System.nanoTime() + properties.getBlockTimeout().toNanos();
+        long backoff = TimeUnit.MICROSECONDS.toNanos(50);
+        while (System.nanoTime() < deadline) {
+            LockSupport.unpark(writer);
+            LockSupport.parkNanos(backoff);
+            if (buffer.offer(event)) {
+                return true;
+            }
+            backoff = Math.min(backoff * 2, TimeUnit.MILLISECONDS.toNanos(1));
+        }
+        return false;
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        writer = new Thread(this::writeLoop, "autho-forge-audit-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    private void writeLoop() {
+        List<AuditEvent> batch = new ArrayList<>(properties.getBatchSize());
+        long idleNanos = properties.getFlushInterval().toNanos();
+        while (running) {
+            int drained = buffer.drainTo(batch, properties.getBatchSize());
+            if (drained > 0) {
+                write(batch);
+                batch.clear();
+            }
+            if (drained < properties.getBatchSize()) {
+                // buffer ran dry, let events accumulate into the next batch
+                LockSupport.parkNanos(this, idleNanos);
+            }
+        }
+        flushRemaining(batch);
+    }
+
+    /**
+     * Final drain after shutdown, on the writer thread since the buffer has a single consumer.
+     */
+    private void flushRemaining(List<AuditEvent> batch) {
+        int flushed = 0;
+        while (System.nanoTime() < shutdownDeadline && buffer.drainTo(batch, properties.getBatchSize()) > 0) {
+            write(batch);
+            flushed += batch.size();
+            batch.clear();
+        }
+        int left = buffer.size();
+        if (left > 0) {
+            log.warn("Shutdown timeout reached, {} audit events were not written", left);
+        } else if (flushed > 0) {
+            log.info("Flushed {} audit events on shutdown", flushed);
+        }
+    }
+
+    /**
+     * Stops the writer, which writes whatever is still buffered within the shutdown timeout.
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        long timeoutNanos = properties.getShutdownTimeout().toNanos();
+        shutdownDeadline = System.nanoTime() + timeoutNanos;
+        running = false;
+        LockSupport.unpark(writer);
+        // a little grace over the deadline for the batch in progress when it passes
+        writer.join(TimeUnit.NANOSECONDS.toMillis(timeoutNanos) + 1000);
+        if (writer.isAlive()) {
+            log.warn("Audit writer still busy after the shutdown timeout, {} events buffered", buffer.size());
+        }
+    }
+
+    private void write(List<AuditEvent> batch) {
+        try {
+            batchTimer.record(() -> jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (ps, event) -> {
+                ps.setString(1, event.type().name());
+                if (event.userId() != null) {
+                    ps.setLong(2, event.userId());
+                } else {
+                    ps.setNull(2, Types.BIGINT);
+                }
+                ps.setString(3, event.username());
+                ps.setString(4, event.failureReason());
+                ps.setString(5, event.client().ipAddress());
+                ps.setString(6, event.client().userAgent());
+                ps.setString(7, event.client().deviceId());
+                ps.setTimestamp(8, Timestamp.valueOf(event.occurredAt()));
+            }));
+            written.increment(batch.size());
+        } catch (RuntimeException e) {
+            // audit must never take the writer down, the batch is lost but counted
+            writeFailures.increment(batch.size());
+            log.error("Failed to write {} audit events", batch.size(), e);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.adarsh.autho.forge.service.audit;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded lock-free ring buffer for many producers and one consumer.
+ * <p>
+ * Each slot carries a sequence number: a producer claims a slot with one CAS on the tail
+ * and publishes by bumping the slot's sequence, the consumer frees it the same way.
+ * A full buffer makes {@link #offer} return false immediately, producers never wait.
+ */
+class AuditRingBuffer<T> {
+
+    private final int mask;
+    private final AtomicReferenceArray<T> items;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    // only touched by the single consumer
+    private long head;
+
+    AuditRingBuffer(int requestedCapacity) {
+        int capacity = Integer.highestOneBit(Math.max(2, requestedCapacity - 1)) << 1;
+        this.mask = capacity - 1;
+        this.items = new AtomicReferenceArray<>(capacity);
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    int capacity() {
+        return mask + 1;
+    }
+
+    boolean offer(T item) {
+        while (true) {
+            long position = tail.get();
+            int index = (int) (position & mask);
+            long diff = sequences.get(index) - position;
+            if (diff == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    items.lazySet(index, item);
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+            } else if (diff < 0) {
+                // the consumer hasn't freed this slot yet, buffer is full
+                return false;
+            }
+            // another producer took the slot, retry with the new tail
+        }
+    }
+
+    /**
+     * Moves up to {@code max} items into {@code target}, consumer thread only.
+     */
+    int drainTo(List<T> target, int max) {
+        int drained = 0;
+        while (drained < max) {
+            int index = (int) (head & mask);
+            if (sequences.get(index) != head + 1) {
+                break;
+            }
+            target.add(items.get(index));
+            items.lazySet(index, null);
+            sequences.set(index, head + mask + 1);
+            head++;
+            drained++;
+        }
+        return drained;
+    }
+
+    /**
+     * Approximate number of buffered items.
+     */
+    int size() {
+        return (int) Math.max(0, Math.min(capacity(), tail.get() - head));
+    }
+}
@@ -0,0 +1,25 @@
+package com.adarsh.autho.forge.service.audit;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Where a request came from, recorded with audit events for device tracking.
+ */
+public record ClientInfo(String ipAddress, String userAgent, String deviceId) {
+
+    public static final ClientInfo UNKNOWN = new ClientInfo(null, null, null);
+
+    /** Optional client-chosen stable device identifier */
+    public static final String DEVICE_ID_HEADER = "X-Device-Id";
+
+    public static ClientInfo from(HttpServletRequest request) {
+        return new ClientInfo(
+                request.getRemoteAddr(),
+                truncate(request.getHeader("User-Agent"), 256),
+                truncate(request.getHeader(DEVICE_ID_HEADER), 64));
+    }
+
+    private static String truncate(String value, int max) {
+        return value == null || value.length() <= max ? value : value.substring(0, max);
+    }
+}
@@ -0,0 +1,27 @@
+package com.adarsh.autho.forge.service.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "autho.forge.admin")
+@Getter
+@Setter
+public class AdminProperties {
+    /**
+     * Users per page of GET /admin/users when the request doesn't ask for a size
+     */
+    private int defaultPageSize = 100;
+
+    /**
+     * Upper bound for the requested page size
+     */
+    private int maxPageSize = 1000;
+
+    /**
+     * Rows the JDBC driver fetches per round trip while streaming the export
+     */
+    private int exportFetchSize = 1000;
+}
@@ -0,0 +1,50 @@
+package com.adarsh.autho.forge.service.config;
+
+import com.adarsh.autho.forge.service.enums.AuditOverflowPolicy;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "autho.forge.audit")
+@Getter
+@Setter
+public class AuditProperties {
+    /**
+     * Record login, refresh and registration events
+     */
+    private boolean enabled = true;
+
+    /**
+     * Events buffered in memory before the overflow policy kicks in, rounded up to a power of two
+     */
+    private int bufferCapacity = 8192;
+
+    /**
+     * DROP never slows a request down, BLOCK waits up to blockTimeout for space first
+     */
+    private AuditOverflowPolicy overflowPolicy = AuditOverflowPolicy.DROP;
+
+    /**
+     * Max time a request thread waits for buffer space with the BLOCK policy
+     */
+    private Duration blockTimeout = Duration.ofMillis(5);
+
+    /**
+     * Max rows per JDBC batch insert
+     */
+    private int batchSize = 500;
+
+    /**
+     * How long the writer idles when the buffer is empty, bounds how late events reach the database
+     */
+    private Duration flushInterval = Duration.ofMillis(200);
+
+    /**
+     * Max time spent writing buffered events on shutdown
+     */
+    private Duration shutdownTimeout = Duration.ofSeconds(10);
+}
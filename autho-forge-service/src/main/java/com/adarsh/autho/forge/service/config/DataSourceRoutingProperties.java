@@ -0,0 +1,51 @@
+package com.adarsh.autho.forge.service.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+@ConfigurationProperties(prefix = "autho.forge.datasource.routing")
+@Getter
+@Setter
+public class DataSourceRoutingProperties {
+    /**
+     * Send read-only transactions to the replicas, everything else to spring.datasource (the primary)
+     */
+    private boolean enabled = false;
+
+    /**
+     * After a write for a user, that user's reads stay on the primary this long (longer than the replica lag)
+     */
+    private Duration readYourWritesWindow = Duration.ofSeconds(5);
+
+    /**
+     * Max users tracked in the read-your-writes window, beyond that all reads go to the primary until entries expire
+     */
+    private int readYourWritesMaxEntries = 100_000;
+
+    /**
+     * Read replicas, used round-robin
+     */
+    private List<Replica> replicas = new ArrayList<>();
+
+    @Getter
+    @Setter
+    public static class Replica {
+        private String url;
+
+        private String username;
+
+        private String password;
+
+        /**
+         * Connection pool size of this replica
+         */
+        private int maximumPoolSize = 10;
+    }
+}
@@ -0,0 +1,54 @@
+package com.adarsh.autho.forge.service.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "autho.forge.key.rotation")
+@Getter
+@Setter
+public class KeyRotationProperties {
+    /**
+     * Enable scheduled key rotation. Generated keys live in memory only, so rotation is
+     * single-instance only: replicas would each publish their own JWKS, and after a restart
+     * the configured key is active again and tokens signed with generated keys stop validating.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Confirms this service runs as a single instance. Startup fails with rotation enabled
+     * and this unset, there is no shared key store to keep replicas on one keyring.
+     */
+    private boolean singleInstance = false;
+
+    /**
+     * How long a key signs before the next upcoming key takes over
+     */
+    private Duration interval = Duration.ofDays(30);
+
+    /**
+     * Minimum time an upcoming key is published before it may start signing.
+     * Should exceed the JWKS cache time of every validator.
+     */
+    private Duration publishAhead = Duration.ofHours(1);
+
+    /**
+     * How long a retired key stays published for verification.
+     * Should exceed the access token TTL.
+     */
+    private Duration retireAfter = Duration.ofHours(1);
+
+    /**
+     * How often the rotation schedule is evaluated
+     */
+    private Duration checkInterval = Duration.ofMinutes(1);
+
+    /**
+     * RSA modulus size for generated keys
+     */
+    private int keySize = 2048;
+}
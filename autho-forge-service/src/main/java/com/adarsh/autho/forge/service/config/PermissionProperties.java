@@ -0,0 +1,40 @@
+package com.adarsh.autho.forge.service.config;
+
+import com.adarsh.autho.forge.service.enums.Roles;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Component
+@ConfigurationProperties(prefix = "autho.forge.permissions")
+@Getter
+@Setter
+public class PermissionProperties {
+    /**
+     * Add the permission bitset claims (perms, perms_ver) to access tokens
+     */
+    private boolean enabled = false;
+
+    /**
+     * Registry version, bump it with every change to names. Validators decode a token
+     * with any registry of the same or a newer version.
+     */
+    private int version = 1;
+
+    /**
+     * Permission names, the position is the bit index. Append only: never remove or reorder,
+     * stop granting a permission instead, otherwise older tokens change meaning.
+     */
+    private List<String> names = new ArrayList<>();
+
+    /**
+     * Permissions granted per role, "*" grants every registered permission
+     */
+    private Map<Roles, List<String>> roles = new HashMap<>();
+}
@@ -0,0 +1,65 @@
+package com.adarsh.autho.forge.service.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "autho.forge.rate-limit")
+@Getter
+@Setter
+public class RateLimitProperties {
+    /**
+     * Reject login/register attempts over the limits below with 429
+     */
+    private boolean enabled = true;
+
+    /**
+     * Buckets per sketch row. Memory per limit is width * depth * 8 bytes, whatever the number of keys.
+     */
+    private int width = 16384;
+
+    /**
+     * Sketch rows, each key takes one bucket per row. More rows mean fewer false rejections from collisions.
+     */
+    private int depth = 3;
+
+    /**
+     * Login attempts per username
+     */
+    private Limit loginPerUsername = new Limit(10, Duration.ofMinutes(1), 5);
+
+    /**
+     * Login attempts per client address
+     */
+    private Limit loginPerIp = new Limit(60, Duration.ofMinutes(1), 20);
+
+    /**
+     * Registrations per client address
+     */
+    private Limit registerPerIp = new Limit(10, Duration.ofHours(1), 5);
+
+    @Getter
+    @Setter
+    @lombok.NoArgsConstructor
+    @lombok.AllArgsConstructor
+    public static class Limit {
+        /**
+         * Sustained number of requests allowed per period
+         */
+        private int permits;
+
+        /**
+         * Period the permits refill over
+         */
+        private Duration period;
+
+        /**
+         * Requests allowed back to back before the sustained rate applies
+         */
+        private int burst;
+    }
+}
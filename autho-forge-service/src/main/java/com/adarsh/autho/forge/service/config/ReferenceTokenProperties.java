@@ -0,0 +1,56 @@
+package com.adarsh.autho.forge.service.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "autho.forge.reference-token")
+@Getter
+@Setter
+public class ReferenceTokenProperties {
+    /**
+     * Allow clients to ask for opaque reference tokens at login
+     */
+    private boolean enabled = false;
+
+    /**
+     * Lifetime of a reference token
+     */
+    private Duration ttl = Duration.ofMinutes(15);
+
+    /**
+     * Number of in-memory shards, a power of two spreads best
+     */
+    private int shards = 16;
+
+    /**
+     * How often buffered writes are flushed to the database
+     */
+    private Duration writeBehindInterval = Duration.ofSeconds(1);
+
+    /**
+     * Max tokens written per flush transaction
+     */
+    private int writeBehindBatchSize = 500;
+
+    /**
+     * Max tokens accepted by one batch introspection call
+     */
+    private int maxBatchSize = 100;
+
+    /**
+     * How long an in-memory entry is trusted before its revocation flag is re-read from the
+     * database, so revocations made on another instance show up within this interval
+     */
+    private Duration revocationCheckInterval = Duration.ofSeconds(5);
+
+    /**
+     * Shared secret resource servers send as "Authorization: Bearer ..." to the
+     * introspection and revocation endpoints. Required when reference tokens are enabled.
+     */
+    private String introspectionSecret;
+}
@@ -0,0 +1,44 @@
+package com.adarsh.autho.forge.service.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "autho.forge.refresh-token.compaction")
+@Getter
+@Setter
+public class RefreshTokenCompactionProperties {
+    /**
+     * Enable the background job that purges expired and revoked refresh tokens
+     */
+    private boolean enabled = true;
+
+    /**
+     * Delay between the end of one compaction pass and the start of the next
+     */
+    private Duration interval = Duration.ofMinutes(10);
+
+    /**
+     * How long revoked tokens are kept before being purged (keeps reuse detection possible)
+     */
+    private Duration revokedRetention = Duration.ofDays(7);
+
+    /**
+     * Max rows deleted per transaction
+     */
+    private int batchSize = 500;
+
+    /**
+     * Max batches per pass, caps the work a single pass can do
+     */
+    private int maxBatchesPerPass = 100;
+
+    /**
+     * Pause between batches so compaction never competes with login traffic
+     */
+    private Duration pauseBetweenBatches = Duration.ofMillis(200);
+}
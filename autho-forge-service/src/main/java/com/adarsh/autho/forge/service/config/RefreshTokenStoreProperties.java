@@ -0,0 +1,39 @@
+package com.adarsh.autho.forge.service.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "autho.forge.refresh-token.store")
+@Getter
+@Setter
+public class RefreshTokenStoreProperties {
+    /**
+     * Where refresh tokens live: "jpa" (database) or "memory"
+     */
+    private String type = "jpa";
+
+    /**
+     * Number of lock stripes of the in-memory store
+     */
+    private int stripes = 64;
+
+    /**
+     * File the in-memory store snapshots to and restores from; empty disables snapshots
+     */
+    private String snapshotPath;
+
+    /**
+     * How often the in-memory store writes its snapshot
+     */
+    private Duration snapshotInterval = Duration.ofMinutes(1);
+
+    /**
+     * How often expired tokens are evicted from the in-memory store
+     */
+    private Duration evictionInterval = Duration.ofMinutes(1);
+}
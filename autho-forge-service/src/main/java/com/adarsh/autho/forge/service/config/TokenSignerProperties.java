@@ -0,0 +1,61 @@
+package com.adarsh.autho.forge.service.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "autho.forge.signer")
+@Getter
+@Setter
+public class TokenSignerProperties {
+    /**
+     * Who signs access tokens: "local" (private key in this JVM) or "remote" (KMS/HSM over HTTP)
+     */
+    private String type = "local";
+
+    private Remote remote = new Remote();
+
+    @Getter
+    @Setter
+    public static class Remote {
+        /**
+         * Base URL of the signing service (POST /sign, GET /keys/{kid})
+         */
+        private String url;
+
+        /**
+         * Key the signing service signs with; its public key is fetched at startup and published in the JWKS
+         */
+        private String keyId;
+
+        /**
+         * Most signatures requested in one call
+         */
+        private int maxBatchSize = 64;
+
+        /**
+         * Calls outstanding at the same time. Requests arriving while all are busy queue up and
+         * go out together as the next batch.
+         */
+        private int maxInFlight = 4;
+
+        /**
+         * Extra time a batch that isn't full waits for more requests before it is sent, 0 sends right away
+         */
+        private Duration maxWait = Duration.ZERO;
+
+        /**
+         * Signing requests waiting for a batch; beyond this login fails instead of queueing
+         */
+        private int queueCapacity = 10_000;
+
+        /**
+         * How long a caller waits for its signature, queueing included
+         */
+        private Duration timeout = Duration.ofSeconds(2);
+    }
+}
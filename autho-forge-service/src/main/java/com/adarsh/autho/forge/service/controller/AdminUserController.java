@@ -0,0 +1,54 @@
+package com.adarsh.autho.forge.service.controller;
+
+import com.adarsh.autho.forge.service.dto.UserPageResponse;
+import com.adarsh.autho.forge.service.service.AdminUserService;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * User listing and export for administrators. Needs a token with the ADMIN_USER role
+ * (or the users:read permission), verified by autho-forge-starter in this JVM.
+ */
+@RestController
+@RequestMapping("/admin/users")
+public class AdminUserController {
+
+    private static final Logger log = LoggerFactory.getLogger(AdminUserController.class);
+
+    @Autowired
+    private AdminUserService adminUserService;
+
+    /**
+     * {@code GET /admin/users?after=<id>&limit=<n>}, pass {@code next_after} of a page as {@code after}.
+     */
+    @GetMapping
+    public ResponseEntity<UserPageResponse> listUsers(
+            @RequestParam(value = "after", required = false) Long after,
+            @RequestParam(value = "limit", required = false) Integer limit) {
+        return ResponseEntity.ok(adminUserService.listUsers(after, limit));
+    }
+
+    /**
+     * All users as NDJSON, streamed while the cursor is read. Written on the request thread,
+     * so no async timeout cuts off a long export.
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void exportUsers(HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        long started = System.nanoTime();
+        long written = adminUserService.exportUsers(response.getOutputStream());
+        log.info("Exported {} users in {} ms", written, (System.nanoTime() - started) / 1_000_000);
+    }
+}
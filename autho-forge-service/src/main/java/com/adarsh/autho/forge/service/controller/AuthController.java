@@ -1,9 +1,13 @@
 package com.adarsh.autho.forge.service.controller;
 
+import com.adarsh.autho.forge.service.audit.ClientInfo;
 import com.adarsh.autho.forge.service.dto.LoginRequest;
+import com.adarsh.autho.forge.service.dto.RefreshRequest;
 import com.adarsh.autho.forge.service.dto.RegisterRequest;
 import com.adarsh.autho.forge.service.dto.TokenResponse;
+import com.adarsh.autho.forge.service.ratelimit.AuthRateLimiter;
 import com.adarsh.autho.forge.service.service.AuthService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -16,15 +20,29 @@ public class AuthController {
     @Autowired
     private AuthService authService;
 
+    @Autowired
+    private AuthRateLimiter rateLimiter;
+
     @PostMapping("/register")
-    public ResponseEntity<String> register(@Valid @RequestBody RegisterRequest request) {
-        authService.register(request);
+    public ResponseEntity<String> register(@Valid @RequestBody RegisterRequest request, HttpServletRequest httpRequest) {
+        ClientInfo client = ClientInfo.from(httpRequest);
+        rateLimiter.checkRegister(client.ipAddress());
+        authService.register(request, client);
         return ResponseEntity.ok("User registered successfully");
     }
 
     @PostMapping("/login")
-    public ResponseEntity<TokenResponse> login(@Valid @RequestBody LoginRequest request) {
-        TokenResponse response = authService.login(request);
+    public ResponseEntity<TokenResponse> login(@Valid @RequestBody LoginRequest request, HttpServletRequest httpRequest) {
+        ClientInfo client = ClientInfo.from(httpRequest);
+        // before the user lookup and BCrypt, a rejected attempt costs a few CAS operations
+        rateLimiter.checkLogin(request.getUsername(), client.ipAddress());
+        TokenResponse response = authService.login(request, client);
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/refresh")
+    public ResponseEntity<TokenResponse> refresh(@Valid @RequestBody RefreshRequest request, HttpServletRequest httpRequest) {
+        TokenResponse response = authService.refresh(request.getRefreshToken(), ClientInfo.from(httpRequest));
         return ResponseEntity.ok(response);
     }
 }
@@ -0,0 +1,84 @@
+package com.adarsh.autho.forge.service.controller;
+
+import com.adarsh.autho.forge.service.config.ReferenceTokenProperties;
+import com.adarsh.autho.forge.service.dto.BatchIntrospectionRequest;
+import com.adarsh.autho.forge.service.dto.BatchIntrospectionResponse;
+import com.adarsh.autho.forge.service.dto.IntrospectionResponse;
+import com.adarsh.autho.forge.service.service.ReferenceTokenService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.List;
+
+/**
+ * RFC 7662 introspection (single and batch) and RFC 7009 revocation for reference tokens.
+ */
+@RestController
+@RequestMapping("/oauth2")
+public class IntrospectionController {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    @Autowired
+    private ReferenceTokenService referenceTokenService;
+
+    @Autowired
+    private ReferenceTokenProperties properties;
+
+    @PostMapping(value = "/introspect", consumes = MediaType.APPLICATION_FORM_URLENCODED_VALUE)
+    public ResponseEntity<IntrospectionResponse> introspect(
+            @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization,
+            @RequestParam("token") String token) {
+        if (!isAuthorized(authorization)) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        return ResponseEntity.ok(referenceTokenService.introspect(token));
+    }
+
+    @PostMapping(value = "/introspect/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<BatchIntrospectionResponse> introspectBatch(
+            @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization,
+            @Valid @RequestBody BatchIntrospectionRequest request) {
+        if (!isAuthorized(authorization)) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        if (request.getTokens().size() > properties.getMaxBatchSize()) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).build();
+        }
+        List<IntrospectionResponse> results = request.getTokens().stream()
+                .map(referenceTokenService::introspect)
+                .toList();
+        return ResponseEntity.ok(new BatchIntrospectionResponse(results));
+    }
+
+    @PostMapping(value = "/revoke", consumes = MediaType.APPLICATION_FORM_URLENCODED_VALUE)
+    public ResponseEntity<Void> revoke(
+            @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization,
+            @RequestParam("token") String token) {
+        if (!isAuthorized(authorization)) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        // RFC 7009: answer 200 whether or not the token was known
+        referenceTokenService.revoke(token);
+        return ResponseEntity.ok().build();
+    }
+
+    /**
+     * Fails closed: without a configured secret nobody is authorized.
+     */
+    private boolean isAuthorized(String authorization) {
+        String secret = properties.getIntrospectionSecret();
+        if (secret == null || secret.isBlank() || authorization == null || !authorization.startsWith(BEARER_PREFIX)) {
+            return false;
+        }
+        byte[] presented = authorization.substring(BEARER_PREFIX.length()).getBytes(StandardCharsets.UTF_8);
+        return MessageDigest.isEqual(presented, secret.getBytes(StandardCharsets.UTF_8));
+    }
+}
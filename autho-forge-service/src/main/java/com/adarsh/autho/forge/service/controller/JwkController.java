@@ -1,28 +1,70 @@
 package com.adarsh.autho.forge.service.controller;
 
-import com.adarsh.autho.forge.service.service.KeyProviderService;
-import com.nimbusds.jose.jwk.JWK;
-import com.nimbusds.jose.jwk.JWKSet;
-import com.nimbusds.jose.jwk.RSAKey;
+import com.adarsh.autho.forge.service.dto.PublishedDocument;
+import com.adarsh.autho.forge.service.service.KeyChangeStream;
+import com.adarsh.autho.forge.service.service.PermissionRegistry;
+import com.adarsh.autho.forge.service.service.WellKnownDocumentService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
 
-import java.util.Map;
+import java.time.Duration;
 
 @RestController
 public class JwkController {
 
     @Autowired
-    private KeyProviderService keyProviderService;
-
-    @GetMapping("/.well-known/jwks.json")
-    public Map<String, Object> getJwks() {
-        RSAKey rsaKey = new RSAKey.Builder(keyProviderService.getPublicKey())
-                .keyID(keyProviderService.getKeyId())
-                .build();
-        
-        JWKSet jwkSet = new JWKSet(rsaKey);
-        return jwkSet.toJSONObject();
+    private WellKnownDocumentService wellKnownDocumentService;
+
+    @Autowired
+    private PermissionRegistry permissionRegistry;
+
+    @Autowired
+    private KeyChangeStream keyChangeStream;
+
+    @GetMapping(WellKnownDocumentService.JWKS_PATH)
+    public ResponseEntity<byte[]> getJwks() {
+        return serve(wellKnownDocumentService.getJwks());
+    }
+
+    /**
+     * Long-poll variant: answers once the keyring differs from version {@code since}
+     * (200 with the JWKS) or after {@code wait} seconds without a change (304).
+     * The held ETag comes as a parameter, with If-None-Match Spring would turn a
+     * "version differs, same keys" answer into a 304 and the caller would never catch up.
+     */
+    @GetMapping(value = WellKnownDocumentService.JWKS_PATH, params = "since")
+    public DeferredResult<ResponseEntity<byte[]>> awaitJwksChange(
+            @RequestParam long since,
+            @RequestParam(defaultValue = "30") long wait,
+            @RequestParam(required = false) String etag) {
+        return keyChangeStream.await(since, etag, Duration.ofSeconds(wait));
+    }
+
+    @GetMapping("/.well-known/openid-configuration")
+    public ResponseEntity<byte[]> getOpenIdConfiguration() {
+        return serve(wellKnownDocumentService.getDiscovery());
+    }
+
+    @GetMapping(PermissionRegistry.PATH)
+    public ResponseEntity<byte[]> getPermissionRegistry() {
+        return serve(permissionRegistry.getDocument());
+    }
+
+    /**
+     * Spring answers If-None-Match with 304 Not Modified on its own
+     * when the returned entity carries an ETag.
+     */
+    private ResponseEntity<byte[]> serve(PublishedDocument document) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(document.etag())
+                .cacheControl(CacheControl.maxAge(document.maxAge()).cachePublic())
+                .body(document.body());
     }
 }
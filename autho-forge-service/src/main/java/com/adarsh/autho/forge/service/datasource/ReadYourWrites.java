@@ -0,0 +1,115 @@
+package com.adarsh.autho.forge.service.datasource;
+
+import com.adarsh.autho.forge.service.config.DataSourceRoutingProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Read-your-writes window on top of replica routing.
+ * <p>
+ * Writes for a user are recorded under a key (username and user id). For the length of the window
+ * afterwards, reads for that key run against the primary, so a login right after registering
+ * doesn't miss the row on a lagging replica. All other reads keep going to the replicas.
+ * Without routing enabled everything here is a no-op.
+ */
+@Component
+public class ReadYourWrites {
+
+    private static final ThreadLocal<Boolean> PRIMARY_PINNED = new ThreadLocal<>();
+
+    private final boolean enabled;
+    private final long windowNanos;
+    private final int maxEntries;
+    private final Map<Object, Long> recentWrites = new ConcurrentHashMap<>();
+
+    // set when the map is full: until then every read is pinned, losing track must not mean stale reads
+    private volatile long saturatedUntil;
+
+    @Autowired
+    public ReadYourWrites(DataSourceRoutingProperties properties) {
+        this.enabled = properties.isEnabled();
+        this.windowNanos = properties.getReadYourWritesWindow().toNanos();
+        this.maxEntries = properties.getReadYourWritesMaxEntries();
+        this.saturatedUntil = System.nanoTime();
+    }
+
+    /**
+     * Called after a committed write for {@code key}.
+     */
+    public void recordWrite(Object key) {
+        if (!enabled || key == null) {
+            return;
+        }
+        long now = System.nanoTime();
+        if (recentWrites.size() >= maxEntries) {
+            recentWrites.values().removeIf(until -> until - now <= 0);
+            if (recentWrites.size() >= maxEntries) {
+                saturatedUntil = now + windowNanos;
+                return;
+            }
+        }
+        recentWrites.put(key, now + windowNanos);
+    }
+
+    /**
+     * Runs {@code query} on the primary when {@code key} was written within the window, on a replica otherwise.
+     */
+    public <T> T read(Object key, Supplier<T> query) {
+        return enabled && isRecent(key) ? onPrimary(query) : query.get();
+    }
+
+    /**
+     * Runs {@code query} on a replica and repeats it on the primary when nothing was found.
+     * For lookups by a key only the writer knows (e.g. a refresh token hash), where a miss is
+     * the only symptom of replica lag and the primary answers authoritatively.
+     */
+    public <T> Optional<T> findWithPrimaryFallback(Supplier<Optional<T>> query) {
+        Optional<T> result = query.get();
+        if (result.isPresent() || !enabled || isPinnedToPrimary()) {
+            return result;
+        }
+        return onPrimary(query);
+    }
+
+    /**
+     * Runs {@code query} with read-only transactions routed to the primary.
+     */
+    public <T> T onPrimary(Supplier<T> query) {
+        Boolean previous = PRIMARY_PINNED.get();
+        PRIMARY_PINNED.set(Boolean.TRUE);
+        try {
+            return query.get();
+        } finally {
+            if (previous == null) {
+                PRIMARY_PINNED.remove();
+            } else {
+                PRIMARY_PINNED.set(previous);
+            }
+        }
+    }
+
+    static boolean isPinnedToPrimary() {
+        return PRIMARY_PINNED.get() != null;
+    }
+
+    private boolean isRecent(Object key) {
+        long now = System.nanoTime();
+        if (saturatedUntil - now > 0) {
+            return true;
+        }
+        Long until = recentWrites.get(key);
+        if (until == null) {
+            return false;
+        }
+        if (until - now > 0) {
+            return true;
+        }
+        recentWrites.remove(key, until);
+        return false;
+    }
+}
@@ -0,0 +1,94 @@
+package com.adarsh.autho.forge.service.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends read-only transactions to the replica pools (round-robin) and everything else,
+ * including statements outside a transaction, to the primary pool.
+ * <p>
+ * The connection is only taken from a pool at the first statement, by which time Spring has
+ * marked the transaction read-only or not; a plain routing data source would be asked at
+ * transaction begin, before that flag is set.
+ */
+public class ReplicaRoutingDataSource extends LazyConnectionDataSourceProxy implements AutoCloseable {
+
+    private final List<HikariDataSource> pools = new ArrayList<>();
+
+    public ReplicaRoutingDataSource(HikariDataSource primary, List<HikariDataSource> replicas, MeterRegistry meterRegistry) {
+        pools.add(primary);
+        pools.addAll(replicas);
+        Router router = new Router(primary, replicas, meterRegistry);
+        router.afterPropertiesSet();
+        setTargetDataSource(router);
+        afterPropertiesSet();
+    }
+
+    @Override
+    public void close() {
+        pools.forEach(HikariDataSource::close);
+    }
+
+    private static final class Router extends AbstractRoutingDataSource {
+
+        private final String primary;
+        private final String[] replicas;
+        private final AtomicInteger next = new AtomicInteger();
+
+        private final Counter writes;
+        private final Counter pinnedReads;
+        private final Map<String, Counter> replicaReads = new HashMap<>();
+
+        Router(HikariDataSource primary, List<HikariDataSource> replicas, MeterRegistry meterRegistry) {
+            Map<Object, Object> targets = new HashMap<>();
+            this.primary = primary.getPoolName();
+            targets.put(this.primary, primary);
+            this.replicas = new String[replicas.size()];
+            for (int i = 0; i < replicas.size(); i++) {
+                HikariDataSource replica = replicas.get(i);
+                this.replicas[i] = replica.getPoolName();
+                targets.put(replica.getPoolName(), replica);
+                replicaReads.put(replica.getPoolName(), routed(meterRegistry, replica.getPoolName(), "read"));
+            }
+            setTargetDataSources(targets);
+            setDefaultTargetDataSource(primary);
+            setLenientFallback(false);
+
+            this.writes = routed(meterRegistry, this.primary, "write");
+            this.pinnedReads = routed(meterRegistry, this.primary, "read_your_writes");
+        }
+
+        @Override
+        protected Object determineCurrentLookupKey() {
+            if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+                writes.increment();
+                return primary;
+            }
+            if (ReadYourWrites.isPinnedToPrimary()) {
+                pinnedReads.increment();
+                return primary;
+            }
+            String replica = replicas[Math.floorMod(next.getAndIncrement(), replicas.length)];
+            replicaReads.get(replica).increment();
+            return replica;
+        }
+
+        private static Counter routed(MeterRegistry meterRegistry, String pool, String reason) {
+            return Counter.builder("autho.forge.datasource.routed")
+                    .description("Connections handed out by the replica router")
+                    .tag("pool", pool)
+                    .tag("reason", reason)
+                    .register(meterRegistry);
+        }
+    }
+}
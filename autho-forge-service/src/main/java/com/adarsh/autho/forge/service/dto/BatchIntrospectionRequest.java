@@ -0,0 +1,16 @@
+package com.adarsh.autho.forge.service.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@lombok.NoArgsConstructor
+@lombok.AllArgsConstructor
+public class BatchIntrospectionRequest {
+    @NotEmpty(message = "tokens cannot be empty")
+    private List<String> tokens;
+}
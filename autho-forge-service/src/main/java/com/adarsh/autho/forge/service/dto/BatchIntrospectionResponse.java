@@ -0,0 +1,17 @@
+package com.adarsh.autho.forge.service.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * Results in the same order as the tokens of the request.
+ */
+@Getter
+@Setter
+@lombok.NoArgsConstructor
+@lombok.AllArgsConstructor
+public class BatchIntrospectionResponse {
+    private List<IntrospectionResponse> results;
+}
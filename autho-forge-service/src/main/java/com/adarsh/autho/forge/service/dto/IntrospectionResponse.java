@@ -0,0 +1,41 @@
+package com.adarsh.autho.forge.service.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * RFC 7662 token introspection response. Inactive tokens carry only {@code active=false}.
+ */
+@Getter
+@Setter
+@lombok.Builder
+@lombok.NoArgsConstructor
+@lombok.AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class IntrospectionResponse {
+
+    private static final IntrospectionResponse INACTIVE = IntrospectionResponse.builder().active(false).build();
+
+    private boolean active;
+
+    private String sub;
+
+    private String username;
+
+    private String roles;
+
+    private String iss;
+
+    private Long exp;
+
+    private Long iat;
+
+    @JsonProperty("token_type")
+    private String tokenType;
+
+    public static IntrospectionResponse inactive() {
+        return INACTIVE;
+    }
+}
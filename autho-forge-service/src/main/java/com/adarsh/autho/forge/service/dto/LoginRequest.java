@@ -1,5 +1,6 @@
 package com.adarsh.autho.forge.service.dto;
 
+import com.adarsh.autho.forge.service.enums.TokenFormat;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import lombok.Builder;
@@ -9,6 +10,8 @@ import lombok.Setter;
 @Getter
 @Setter
 @Builder
+@lombok.NoArgsConstructor
+@lombok.AllArgsConstructor
 public class LoginRequest {
     @NotBlank(message = "Username cannot be empty")
     @Size(min = 3, max = 50, message = "Username must be between 3 and 50 characters")
@@ -17,4 +20,7 @@ public class LoginRequest {
     @NotBlank(message = "Password cannot be empty")
     @Size(min = 6, message = "Password must be at least 6 characters long")
     private String password;
+
+    // optional, REFERENCE asks for a short opaque token when the service has them enabled
+    private TokenFormat tokenFormat;
 }
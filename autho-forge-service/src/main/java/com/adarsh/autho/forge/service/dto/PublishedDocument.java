@@ -0,0 +1,13 @@
+package com.adarsh.autho.forge.service.dto;
+
+import java.time.Duration;
+
+/**
+ * A pre-serialized, immutable JSON document served as-is by the well-known endpoints.
+ *
+ * @param body   the serialized JSON bytes (never mutated after construction)
+ * @param etag   strong entity tag for the body, already quoted
+ * @param maxAge how long clients may cache the body
+ */
+public record PublishedDocument(byte[] body, String etag, Duration maxAge) {
+}
@@ -0,0 +1,16 @@
+package com.adarsh.autho.forge.service.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.constraints.NotBlank;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@lombok.NoArgsConstructor
+@lombok.AllArgsConstructor
+public class RefreshRequest {
+    @NotBlank(message = "Refresh token cannot be empty")
+    @JsonProperty("refresh_token")
+    private String refreshToken;
+}
@@ -12,5 +12,6 @@ import java.time.LocalDateTime;
 public class RefreshTokenDTO {
 
     private String rawToken;        // the one sent back to client
+    private Long userId;
     private LocalDateTime expiresAt;
 }
\ No newline at end of file
@@ -12,6 +12,8 @@ import lombok.Setter;
 @Getter
 @Setter
 @Builder
+@lombok.NoArgsConstructor
+@lombok.AllArgsConstructor(access = lombok.AccessLevel.PRIVATE)
 public class RegisterRequest {
     @NotBlank(message = "Username cannot be empty")
     @Size(min = 3, max = 50, message = "Username must be between 3 and 50 characters")
@@ -23,5 +25,6 @@ public class RegisterRequest {
     private String password;
 
     @NotNull
+    @Builder.Default
     private Roles roles = Roles.USER;
 }
@@ -0,0 +1,26 @@
+package com.adarsh.autho.forge.service.dto;
+
+import com.adarsh.autho.forge.service.repository.user.UserSummary;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * One keyset page of users. {@code next_after} is the cursor for the following page,
+ * absent on the last one.
+ */
+@Getter
+@Setter
+@lombok.NoArgsConstructor
+@lombok.AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class UserPageResponse {
+
+    private List<UserSummary> users;
+
+    @JsonProperty("next_after")
+    private Long nextAfter;
+}
@@ -0,0 +1,56 @@
+package com.adarsh.autho.forge.service.entity;
+
+import com.adarsh.autho.forge.service.enums.AuditEventType;
+import jakarta.persistence.*;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Audit trail row. Only mapped so the schema is generated, rows are inserted in JDBC batches by the audit writer.
+ */
+@Entity
+@Table(
+        name = "auth_audit_events",
+        indexes = {
+                @Index(name = "idx_audit_user_id_occurred_at", columnList = "user_id, occurred_at"),
+                @Index(name = "idx_audit_username_occurred_at", columnList = "username, occurred_at")
+        }
+)
+@Getter
+@Setter
+@Builder
+@lombok.NoArgsConstructor
+@lombok.AllArgsConstructor
+public class AuthAuditEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false, length = 32)
+    private AuditEventType eventType;
+
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(length = 50)
+    private String username;
+
+    @Column(name = "failure_reason", length = 64)
+    private String failureReason;
+
+    @Column(name = "ip_address", length = 45)
+    private String ipAddress;
+
+    @Column(name = "user_agent", length = 256)
+    private String userAgent;
+
+    @Column(name = "device_id", length = 64)
+    private String deviceId;
+
+    @Column(name = "occurred_at", nullable = false)
+    private LocalDateTime occurredAt;
+}
@@ -0,0 +1,66 @@
+package com.adarsh.autho.forge.service.entity;
+
+import com.adarsh.autho.forge.service.enums.Roles;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(
+        name = "reference_tokens",
+        indexes = {
+                @Index(name = "idx_reference_token_expires_at", columnList = "expires_at")
+        }
+)
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReferenceToken implements Persistable<String> {
+
+    // SHA-256 of the opaque token, the raw token is never stored
+    @Id
+    @Column(name = "token_hash", length = 43)
+    private String tokenHash;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(nullable = false, length = 50)
+    private String username;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Roles role;
+
+    @Column(name = "issued_at", nullable = false)
+    private LocalDateTime issuedAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Column(nullable = false)
+    private boolean revoked;
+
+    // write-behind only ever inserts new rows, skip the select-before-insert of merge()
+    @Transient
+    @Builder.Default
+    private boolean newToken = true;
+
+    @Override
+    public String getId() {
+        return tokenHash;
+    }
+
+    @Override
+    public boolean isNew() {
+        return newToken;
+    }
+}
@@ -0,0 +1,51 @@
+package com.adarsh.autho.forge.service.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Revocation tombstone for a reference token. Kept apart from {@link ReferenceToken} so a
+ * buffered insert of the token, possibly from another instance, can never clear it.
+ */
+@Entity
+@Table(
+        name = "reference_token_revocations",
+        indexes = {
+                @Index(name = "idx_reference_token_revocation_expires_at", columnList = "expires_at")
+        }
+)
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReferenceTokenRevocation implements Persistable<String> {
+
+    @Id
+    @Column(name = "token_hash", length = 43)
+    private String tokenHash;
+
+    @Column(name = "revoked_at", nullable = false)
+    private LocalDateTime revokedAt;
+
+    // kept until the token itself would have expired
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Override
+    public String getId() {
+        return tokenHash;
+    }
+
+    @Override
+    public boolean isNew() {
+        return true;
+    }
+}
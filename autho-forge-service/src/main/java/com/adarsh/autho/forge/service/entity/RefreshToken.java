@@ -13,8 +13,11 @@ import java.time.LocalDateTime;
 @Table(
         name = "refresh_tokens",
         indexes = {
-                @Index(name = "idx_refresh_token_user_id", columnList = "user_id"),
-                @Index(name = "idx_refresh_token_hash", columnList = "refresh_token_hash")
+                // user_id first, so it also serves lookups by user alone
+                @Index(name = "idx_refresh_token_user_id_revoked", columnList = "user_id, revoked"),
+                @Index(name = "idx_refresh_token_hash", columnList = "refresh_token_hash", unique = true),
+                @Index(name = "idx_refresh_token_expires_at", columnList = "expires_at"),
+                @Index(name = "idx_refresh_token_revoked_at", columnList = "revoked, revoked_at")
         }
 )
 @Getter
@@ -41,5 +44,10 @@ public class RefreshToken {
     private LocalDateTime issuedAt;
 
     @Column(nullable = false)
+    @Builder.Default
     private boolean revoked = false;
+
+    // set whenever revoked flips to true, drives compaction retention
+    @Column(name = "revoked_at")
+    private LocalDateTime revokedAt;
 }
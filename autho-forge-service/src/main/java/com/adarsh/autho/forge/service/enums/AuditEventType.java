@@ -0,0 +1,9 @@
+package com.adarsh.autho.forge.service.enums;
+
+public enum AuditEventType {
+    REGISTER,
+    LOGIN_SUCCESS,
+    LOGIN_FAILURE,
+    REFRESH_SUCCESS,
+    REFRESH_FAILURE,
+}
@@ -0,0 +1,11 @@
+package com.adarsh.autho.forge.service.enums;
+
+/**
+ * What a request thread does when the audit buffer is full.
+ */
+public enum AuditOverflowPolicy {
+    /** Drop the event right away and count it */
+    DROP,
+    /** Wait up to the configured timeout for space, then drop and count */
+    BLOCK,
+}
@@ -0,0 +1,6 @@
+package com.adarsh.autho.forge.service.enums;
+
+public enum TokenFormat {
+    JWT,
+    REFERENCE,
+}
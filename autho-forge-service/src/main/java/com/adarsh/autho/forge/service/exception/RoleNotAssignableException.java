@@ -0,0 +1,11 @@
+package com.adarsh.autho.forge.service.exception;
+
+/**
+ * A client asked for a role it may not give itself, e.g. ADMIN_USER at registration.
+ */
+public class RoleNotAssignableException extends RuntimeException {
+
+    public RoleNotAssignableException(String message) {
+        super(message);
+    }
+}
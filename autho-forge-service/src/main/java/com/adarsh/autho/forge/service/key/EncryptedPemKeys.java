@@ -0,0 +1,53 @@
+package com.adarsh.autho.forge.service.key;
+
+import org.bouncycastle.asn1.pkcs.PrivateKeyInfo;
+import org.bouncycastle.jce.provider.BouncyCastleProvider;
+import org.bouncycastle.openssl.PEMEncryptedKeyPair;
+import org.bouncycastle.openssl.PEMParser;
+import org.bouncycastle.openssl.jcajce.JcaPEMKeyConverter;
+import org.bouncycastle.openssl.jcajce.JceOpenSSLPKCS8DecryptorProviderBuilder;
+import org.bouncycastle.openssl.jcajce.JcePEMDecryptorProviderBuilder;
+import org.bouncycastle.operator.OperatorCreationException;
+import org.bouncycastle.pkcs.PKCS8EncryptedPrivateKeyInfo;
+import org.bouncycastle.pkcs.PKCSException;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.security.Security;
+import java.security.interfaces.RSAPrivateKey;
+
+/**
+ * Decrypts password-protected PEM keys with BouncyCastle. Only referenced for encrypted keys,
+ * so BouncyCastle classes aren't loaded at all otherwise.
+ */
+final class EncryptedPemKeys {
+
+    private EncryptedPemKeys() {
+    }
+
+    static RSAPrivateKey decrypt(String pem, char[] passphrase) {
+        if (Security.getProvider(BouncyCastleProvider.PROVIDER_NAME) == null) {
+            Security.addProvider(new BouncyCastleProvider());
+        }
+        try (PEMParser pemParser = new PEMParser(new StringReader(pem))) {
+            Object parsed = pemParser.readObject();
+            JcaPEMKeyConverter converter = new JcaPEMKeyConverter().setProvider(BouncyCastleProvider.PROVIDER_NAME);
+
+            PrivateKeyInfo privateKeyInfo;
+            if (parsed instanceof PKCS8EncryptedPrivateKeyInfo encInfo) {
+                // Encrypted PKCS#8
+                privateKeyInfo = encInfo.decryptPrivateKeyInfo(
+                        new JceOpenSSLPKCS8DecryptorProviderBuilder().build(passphrase));
+            } else if (parsed instanceof PEMEncryptedKeyPair encKeyPair) {
+                // Legacy OpenSSL encrypted key pair
+                privateKeyInfo = encKeyPair.decryptKeyPair(new JcePEMDecryptorProviderBuilder().build(passphrase))
+                        .getPrivateKeyInfo();
+            } else {
+                throw new IllegalStateException("Unsupported encrypted key format in PEM");
+            }
+            return (RSAPrivateKey) converter.getPrivateKey(privateKeyInfo);
+        } catch (IOException | OperatorCreationException | PKCSException e) {
+            throw new IllegalStateException("Failed to decrypt RSA private key", e);
+        }
+    }
+}
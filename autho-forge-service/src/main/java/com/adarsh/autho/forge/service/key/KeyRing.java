@@ -0,0 +1,58 @@
+package com.adarsh.autho.forge.service.key;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Immutable snapshot of all keys the service knows about.
+ * <ul>
+ *     <li>active - the single key used for signing</li>
+ *     <li>upcoming - published ahead of time so validators already have them when they start signing</li>
+ *     <li>retired - no longer signing, still published until tokens signed with them have expired</li>
+ * </ul>
+ * The version increases with every change and is what clients can use as a cursor.
+ */
+public record KeyRing(long version, SigningKey active, List<SigningKey> upcoming, List<SigningKey> retired) {
+
+    public KeyRing {
+        upcoming = List.copyOf(upcoming);
+        retired = List.copyOf(retired);
+    }
+
+    public static KeyRing initial(SigningKey active) {
+        return new KeyRing(1, active, Collections.emptyList(), Collections.emptyList());
+    }
+
+    /**
+     * All keys that should appear in the published JWKS, active key first.
+     */
+    public List<SigningKey> published() {
+        List<SigningKey> keys = new ArrayList<>(1 + upcoming.size() + retired.size());
+        keys.add(active);
+        keys.addAll(upcoming);
+        keys.addAll(retired);
+        return keys;
+    }
+
+    public KeyRing withUpcoming(SigningKey key) {
+        List<SigningKey> next = new ArrayList<>(upcoming);
+        next.add(key);
+        return new KeyRing(version + 1, active, next, retired);
+    }
+
+    /**
+     * Activates the oldest upcoming key and moves the current active key to retired.
+     */
+    public KeyRing promote(SigningKey newActive, SigningKey oldActiveRetired) {
+        List<SigningKey> nextUpcoming = new ArrayList<>(upcoming);
+        nextUpcoming.removeIf(k -> k.getKid().equals(newActive.getKid()));
+        List<SigningKey> nextRetired = new ArrayList<>(retired);
+        nextRetired.add(oldActiveRetired);
+        return new KeyRing(version + 1, newActive, nextUpcoming, nextRetired);
+    }
+
+    public KeyRing withRetired(List<SigningKey> stillRetired) {
+        return new KeyRing(version + 1, active, upcoming, stillRetired);
+    }
+}
@@ -0,0 +1,7 @@
+package com.adarsh.autho.forge.service.key;
+
+/**
+ * Published after the keyring changed (key added, promoted or dropped).
+ */
+public record KeyRingChangedEvent(KeyRing keyRing) {
+}
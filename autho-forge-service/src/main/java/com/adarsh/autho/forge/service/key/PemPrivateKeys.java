@@ -0,0 +1,104 @@
+package com.adarsh.autho.forge.service.key;
+
+import java.io.ByteArrayOutputStream;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.util.Base64;
+import java.util.function.Supplier;
+
+/**
+ * Parses RSA private keys from PEM.
+ * <p>
+ * Unencrypted PKCS#8 and PKCS#1 keys are decoded with the JDK alone. BouncyCastle is only
+ * loaded (through {@link EncryptedPemKeys}) when the key is encrypted, which keeps it and its
+ * provider registration off the startup path of the common case.
+ */
+public final class PemPrivateKeys {
+
+    private static final String PKCS8 = "PRIVATE KEY";
+    private static final String PKCS1 = "RSA PRIVATE KEY";
+    private static final String ENCRYPTED_PKCS8 = "ENCRYPTED PRIVATE KEY";
+
+    // AlgorithmIdentifier { rsaEncryption, NULL }
+    private static final byte[] RSA_ALGORITHM_IDENTIFIER = {
+            0x30, 0x0d, 0x06, 0x09, 0x2a, (byte) 0x86, 0x48, (byte) 0x86, (byte) 0xf7, 0x0d, 0x01, 0x01, 0x01, 0x05, 0x00
+    };
+
+    private PemPrivateKeys() {
+    }
+
+    public static RSAPrivateKey parse(String pem, Supplier<char[]> passphrase) {
+        String type = pemType(pem);
+        boolean legacyEncrypted = PKCS1.equals(type) && pem.contains("Proc-Type: 4,ENCRYPTED");
+
+        if (ENCRYPTED_PKCS8.equals(type) || legacyEncrypted) {
+            return EncryptedPemKeys.decrypt(pem, passphrase.get());
+        }
+        if (PKCS8.equals(type)) {
+            return fromPkcs8(base64Body(pem, type));
+        }
+        if (PKCS1.equals(type)) {
+            return fromPkcs8(wrapPkcs1(base64Body(pem, type)));
+        }
+        throw new IllegalStateException("Unsupported key format in PEM");
+    }
+
+    private static String pemType(String pem) {
+        int begin = pem.indexOf("-----BEGIN ");
+        int end = begin < 0 ? -1 : pem.indexOf("-----", begin + 11);
+        if (end < 0) {
+            throw new IllegalStateException("No PEM header found");
+        }
+        return pem.substring(begin + 11, end);
+    }
+
+    private static byte[] base64Body(String pem, String type) {
+        String header = "-----BEGIN " + type + "-----";
+        String footer = "-----END " + type + "-----";
+        int start = pem.indexOf(header) + header.length();
+        int end = pem.indexOf(footer, start);
+        if (end < 0) {
+            throw new IllegalStateException("PEM footer missing for " + type);
+        }
+        return Base64.getMimeDecoder().decode(pem.substring(start, end));
+    }
+
+    private static RSAPrivateKey fromPkcs8(byte[] der) {
+        try {
+            return (RSAPrivateKey) KeyFactory.getInstance("RSA").generatePrivate(new PKCS8EncodedKeySpec(der));
+        } catch (GeneralSecurityException | ClassCastException e) {
+            throw new IllegalStateException("Failed to parse RSA private key", e);
+        }
+    }
+
+    /**
+     * Wraps a PKCS#1 RSAPrivateKey in a PKCS#8 PrivateKeyInfo, the only encoding the JDK key factory reads.
+     */
+    private static byte[] wrapPkcs1(byte[] pkcs1) {
+        ByteArrayOutputStream content = new ByteArrayOutputStream(pkcs1.length + 32);
+        content.write(new byte[]{0x02, 0x01, 0x00}, 0, 3); // version 0
+        content.write(RSA_ALGORITHM_IDENTIFIER, 0, RSA_ALGORITHM_IDENTIFIER.length);
+        writeTagged(content, 0x04, pkcs1); // OCTET STRING
+
+        ByteArrayOutputStream info = new ByteArrayOutputStream(content.size() + 4);
+        writeTagged(info, 0x30, content.toByteArray()); // SEQUENCE
+        return info.toByteArray();
+    }
+
+    private static void writeTagged(ByteArrayOutputStream out, int tag, byte[] value) {
+        out.write(tag);
+        int length = value.length;
+        if (length < 0x80) {
+            out.write(length);
+        } else {
+            int bytes = (32 - Integer.numberOfLeadingZeros(length) + 7) / 8;
+            out.write(0x80 | bytes);
+            for (int i = bytes - 1; i >= 0; i--) {
+                out.write(length >>> (8 * i));
+            }
+        }
+        out.write(value, 0, value.length);
+    }
+}
@@ -0,0 +1,108 @@
+package com.adarsh.autho.forge.service.key;
+
+import com.nimbusds.jose.JWSSigner;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.RSAKey;
+
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Instant;
+
+/**
+ * One RSA key pair in the keyring together with its lifecycle timestamps.
+ * Instances are immutable; state changes produce a new instance.
+ */
+public final class SigningKey {
+
+    private final String kid;
+    private final RSAPrivateKey privateKey;
+    private final RSAPublicKey publicKey;
+    private final RSAKey publicJwk;
+    private final JWSSigner signer;
+
+    private final Instant publishedAt;
+    private final Instant activatedAt;
+    private final Instant retireAt;
+
+    private SigningKey(String kid, RSAPrivateKey privateKey, RSAPublicKey publicKey, RSAKey publicJwk,
+                       JWSSigner signer, Instant publishedAt, Instant activatedAt, Instant retireAt) {
+        this.kid = kid;
+        this.privateKey = privateKey;
+        this.publicKey = publicKey;
+        this.publicJwk = publicJwk;
+        this.signer = signer;
+        this.publishedAt = publishedAt;
+        this.activatedAt = activatedAt;
+        this.retireAt = retireAt;
+    }
+
+    /**
+     * Creates a key that is published but not yet signing.
+     * A null kid falls back to the RFC 7638 thumbprint of the public key.
+     */
+    public static SigningKey create(String kid, RSAPrivateKey privateKey, RSAPublicKey publicKey, Instant publishedAt) {
+        try {
+            RSAKey.Builder builder = new RSAKey.Builder(publicKey);
+            RSAKey publicJwk = kid != null ? builder.keyID(kid).build() : builder.keyIDFromThumbprint().build();
+            // RSASSASigner is stateless per call, so one instance can be shared by all request threads
+            return new SigningKey(publicJwk.getKeyID(), privateKey, publicKey, publicJwk,
+                    new RSASSASigner(privateKey), publishedAt, null, null);
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to build signing key", e);
+        }
+    }
+
+    /**
+     * Creates a key whose private half is held elsewhere (remote signer), it has no local signer.
+     */
+    public static SigningKey publicOnly(String kid, RSAPublicKey publicKey, Instant publishedAt) {
+        RSAKey publicJwk = new RSAKey.Builder(publicKey).keyID(kid).build();
+        return new SigningKey(kid, null, publicKey, publicJwk, null, publishedAt, null, null);
+    }
+
+    public SigningKey activate(Instant now) {
+        return new SigningKey(kid, privateKey, publicKey, publicJwk, signer, publishedAt, now, null);
+    }
+
+    public SigningKey retire(Instant until) {
+        return new SigningKey(kid, privateKey, publicKey, publicJwk, signer, publishedAt, activatedAt, until);
+    }
+
+    public String getKid() {
+        return kid;
+    }
+
+    public RSAPrivateKey getPrivateKey() {
+        return privateKey;
+    }
+
+    public RSAPublicKey getPublicKey() {
+        return publicKey;
+    }
+
+    /**
+     * Public-only JWK for this key, ready to be published.
+     */
+    public RSAKey getPublicJwk() {
+        return publicJwk;
+    }
+
+    /**
+     * Null for keys created with {@link #publicOnly}.
+     */
+    public JWSSigner getSigner() {
+        return signer;
+    }
+
+    public Instant getPublishedAt() {
+        return publishedAt;
+    }
+
+    public Instant getActivatedAt() {
+        return activatedAt;
+    }
+
+    public Instant getRetireAt() {
+        return retireAt;
+    }
+}
@@ -0,0 +1,41 @@
+package com.adarsh.autho.forge.service.observation;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+
+/**
+ * Wraps auth phases in Micrometer Observations named {@value #NAME}.
+ * With actuator on the classpath each phase becomes a timer tagged {@code phase} (plus {@code error}),
+ * e.g. {@code /actuator/metrics/autho.forge.auth.phase?tag=phase:password_verify}.
+ */
+@Component
+public class AuthObservations {
+
+    public static final String NAME = "autho.forge.auth.phase";
+    public static final String PHASE_KEY = "phase";
+
+    private final ObservationRegistry observationRegistry;
+
+    @Autowired
+    public AuthObservations(ObservationRegistry observationRegistry) {
+        this.observationRegistry = observationRegistry;
+    }
+
+    public <T> T observe(AuthPhase phase, Supplier<T> work) {
+        return Observation.createNotStarted(NAME, observationRegistry)
+                .contextualName(phase.getTagValue())
+                .lowCardinalityKeyValue(PHASE_KEY, phase.getTagValue())
+                .observe(work);
+    }
+
+    public void observe(AuthPhase phase, Runnable work) {
+        observe(phase, () -> {
+            work.run();
+            return null;
+        });
+    }
+}
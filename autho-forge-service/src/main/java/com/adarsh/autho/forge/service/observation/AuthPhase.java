@@ -0,0 +1,23 @@
+package com.adarsh.autho.forge.service.observation;
+
+/**
+ * Timed phases of the auth endpoints. Used as the {@code phase} tag, so the set must stay small and fixed.
+ */
+public enum AuthPhase {
+    USER_LOOKUP("user_lookup"),
+    USER_SAVE("user_save"),
+    PASSWORD_HASH("password_hash"),
+    PASSWORD_VERIFY("password_verify"),
+    TOKEN_SIGN("token_sign"),
+    REFRESH_STORE("refresh_store");
+
+    private final String tagValue;
+
+    AuthPhase(String tagValue) {
+        this.tagValue = tagValue;
+    }
+
+    public String getTagValue() {
+        return tagValue;
+    }
+}
@@ -0,0 +1,49 @@
+package com.adarsh.autho.forge.service.observation;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * One password hash (register) or hash comparison (login). Each one burns tens of milliseconds
+ * of CPU by design, so they are all recorded, the rate is bounded by that cost anyway.
+ */
+@Name("autho.forge.PasswordHash")
+@Label("Password Hash")
+@Category({"Autho-Forge", "Issuing"})
+@Description("BCrypt hash or verification of one password")
+@Threshold("0 ms")
+@StackTrace(false)
+public class PasswordHashEvent extends Event {
+
+    @Label("Operation")
+    @Description("HASH or VERIFY")
+    public String operation;
+
+    @Label("Cost")
+    @Description("BCrypt log rounds of the hash, -1 for other encodings")
+    public int cost;
+
+    @Label("Matched")
+    @Description("VERIFY only: the password matched")
+    public boolean matched;
+
+    /**
+     * Log rounds from a {@code $2a$10$...} hash.
+     */
+    public static int bcryptCost(String hash) {
+        if (hash == null || hash.length() < 7 || hash.charAt(0) != '$' || hash.charAt(3) != '$') {
+            return -1;
+        }
+        char tens = hash.charAt(4);
+        char ones = hash.charAt(5);
+        if (tens < '0' || tens > '9' || ones < '0' || ones > '9') {
+            return -1;
+        }
+        return (tens - '0') * 10 + (ones - '0');
+    }
+}
@@ -0,0 +1,28 @@
+package com.adarsh.autho.forge.service.observation;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * One refresh token rotation: lookup, revocation of the presented token and storing its successor.
+ */
+@Name("autho.forge.RefreshRotation")
+@Label("Refresh Rotation")
+@Category({"Autho-Forge", "Issuing"})
+@Description("Single-use rotation of one refresh token")
+@Threshold("0 ms")
+@StackTrace(false)
+public class RefreshRotationEvent extends Event {
+
+    @Label("Outcome")
+    @Description("ROTATED, NOT_ACTIVE (unknown, expired or revoked) or LOST_RACE (rotated concurrently)")
+    public String outcome;
+
+    @Label("User ID")
+    public long userId;
+}
@@ -0,0 +1,51 @@
+package com.adarsh.autho.forge.service.observation;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationHandler;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Collects the duration of every auth phase observed on a request thread into a request attribute,
+ * which {@link ServerTimingResponseAdvice} turns into a {@code Server-Timing} header.
+ */
+@Component
+@ConditionalOnProperty(prefix = "autho.forge.server-timing", name = "enabled", havingValue = "true")
+public class ServerTimingObservationHandler implements ObservationHandler<Observation.Context> {
+
+    static final String ATTRIBUTE = ServerTimingObservationHandler.class.getName() + ".entries";
+    private static final String START_KEY = ServerTimingObservationHandler.class.getName() + ".start";
+
+    @Override
+    public boolean supportsContext(Observation.Context context) {
+        return AuthObservations.NAME.equals(context.getName());
+    }
+
+    @Override
+    public void onStart(Observation.Context context) {
+        context.put(START_KEY, System.nanoTime());
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void onStop(Observation.Context context) {
+        Long start = context.get(START_KEY);
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        if (start == null || request == null) {
+            return;
+        }
+        List<String> entries = (List<String>) request.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (entries == null) {
+            entries = new ArrayList<>();
+            request.setAttribute(ATTRIBUTE, entries, RequestAttributes.SCOPE_REQUEST);
+        }
+        double millis = (System.nanoTime() - start) / 1_000_000.0;
+        entries.add(String.format(Locale.ROOT, "%s;dur=%.2f", context.getContextualName(), millis));
+    }
+}
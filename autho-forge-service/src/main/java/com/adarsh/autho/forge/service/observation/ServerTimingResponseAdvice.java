@@ -0,0 +1,45 @@
+package com.adarsh.autho.forge.service.observation;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.util.List;
+
+/**
+ * Adds the phases collected by {@link ServerTimingObservationHandler} as a {@code Server-Timing} header,
+ * right before the body is written (headers can't be added once the response is committed).
+ * Opt-in, since it tells clients how long e.g. the password check took.
+ */
+@ControllerAdvice
+@ConditionalOnProperty(prefix = "autho.forge.server-timing", name = "enabled", havingValue = "true")
+public class ServerTimingResponseAdvice implements ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null) {
+            List<String> entries = (List<String>) attributes.getAttribute(
+                    ServerTimingObservationHandler.ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+            if (entries != null && !entries.isEmpty()) {
+                response.getHeaders().add("Server-Timing", String.join(", ", entries));
+            }
+        }
+        return body;
+    }
+}
@@ -0,0 +1,34 @@
+package com.adarsh.autho.forge.service.observation;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Signature of one access token, including the wait for a batch slot with the remote signer.
+ */
+@Name("autho.forge.TokenSigning")
+@Label("Token Signing")
+@Category({"Autho-Forge", "Issuing"})
+@Description("JWS signature of one access token")
+@Threshold("0 ms")
+@StackTrace(false)
+public class TokenSigningEvent extends Event {
+
+    @Label("Algorithm")
+    public String algorithm;
+
+    @Label("Key ID")
+    public String keyId;
+
+    @Label("Signer")
+    @Description("TokenSigner implementation, local or remote")
+    public String signer;
+
+    @Label("Error")
+    public String error;
+}
@@ -0,0 +1,96 @@
+package com.adarsh.autho.forge.service.ratelimit;
+
+import com.adarsh.autho.forge.service.config.RateLimitProperties;
+import com.adarsh.autho.forge.service.exception.RateLimitExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * Per-username and per-address limits for the open auth endpoints.
+ * Called before any user lookup or password hashing, so rejected attempts cost almost nothing.
+ * <p>
+ * The address is {@code ServletRequest.getRemoteAddr()}. Behind a proxy or load balancer set
+ * {@code server.forward-headers-strategy} so it is the client's, otherwise all clients share one budget.
+ */
+@Service
+public class AuthRateLimiter {
+
+    private final RateLimitProperties properties;
+    private final Limiter loginPerIp;
+    private final Limiter loginPerUsername;
+    private final Limiter registerPerIp;
+
+    @Autowired
+    public AuthRateLimiter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.loginPerIp = new Limiter("login_ip", properties.getLoginPerIp(), properties, meterRegistry);
+        this.loginPerUsername = new Limiter("login_username", properties.getLoginPerUsername(), properties, meterRegistry);
+        this.registerPerIp = new Limiter("register_ip", properties.getRegisterPerIp(), properties, meterRegistry);
+    }
+
+    /**
+     * Throws {@link RateLimitExceededException} when the address or the username is over its login limit.
+     */
+    public void checkLogin(String username, String ipAddress) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        long now = System.nanoTime();
+        // address first, so a spray over many usernames doesn't fill the username sketch
+        loginPerIp.acquire(ipAddress, now);
+        try {
+            loginPerUsername.acquire(username.toLowerCase(Locale.ROOT), now);
+        } catch (RateLimitExceededException e) {
+            // the attempt never happens, it shouldn't count against the address
+            loginPerIp.release(ipAddress);
+            throw e;
+        }
+    }
+
+    public void checkRegister(String ipAddress) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        registerPerIp.acquire(ipAddress, System.nanoTime());
+    }
+
+    private static final class Limiter {
+        private final RateLimitSketch sketch;
+        private final Counter allowed;
+        private final Counter rejected;
+
+        Limiter(String name, RateLimitProperties.Limit limit, RateLimitProperties properties, MeterRegistry meterRegistry) {
+            this.sketch = new RateLimitSketch(properties.getWidth(), properties.getDepth(),
+                    limit.getPermits(), limit.getPeriod(), limit.getBurst());
+            this.allowed = Counter.builder("autho.forge.rate_limit.decisions")
+                    .description("Rate limiter decisions on the auth endpoints")
+                    .tag("limit", name)
+                    .tag("decision", "allowed")
+                    .register(meterRegistry);
+            this.rejected = Counter.builder("autho.forge.rate_limit.decisions")
+                    .description("Rate limiter decisions on the auth endpoints")
+                    .tag("limit", name)
+                    .tag("decision", "rejected")
+                    .register(meterRegistry);
+        }
+
+        void release(String key) {
+            sketch.release(key == null ? "" : key);
+        }
+
+        void acquire(String key, long now) {
+            long waitNanos = sketch.tryAcquire(key == null ? "" : key, now);
+            if (waitNanos == 0) {
+                allowed.increment();
+                return;
+            }
+            rejected.increment();
+            throw new RateLimitExceededException("Too many attempts, try again later", Duration.ofNanos(waitNanos));
+        }
+    }
+}
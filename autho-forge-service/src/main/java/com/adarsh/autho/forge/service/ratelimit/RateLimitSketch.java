@@ -0,0 +1,99 @@
+package com.adarsh.autho.forge.service.ratelimit;
+
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-memory rate limiter for an unbounded key space.
+ * <p>
+ * Buckets are laid out like a count-min sketch: {@code depth} rows of {@code width} cells, each key
+ * maps to one cell per row through independently seeded hashes. A cell is a GCRA bucket stored as a
+ * single long (the theoretical arrival time), so checking and consuming is one CAS per row, no locks.
+ * A request is allowed only if every row allows it; rows consumed before a rejecting row are given back. Colliding keys share cells, which can only make
+ * the limit stricter for them, never looser, and with several rows a full collision is unlikely.
+ * Seeds are random per process so colliding keys can't be precomputed.
+ */
+class RateLimitSketch {
+
+    private final int width;
+    private final long[] seeds;
+    private final AtomicLongArray cells;
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    /** Times are taken relative to construction, so they start at 0 like the cells */
+    private final long origin = System.nanoTime();
+
+    RateLimitSketch(int width, int depth, int permits, Duration period, int burst) {
+        this.width = width;
+        this.seeds = new long[depth];
+        SecureRandom random = new SecureRandom();
+        for (int i = 0; i < depth; i++) {
+            seeds[i] = random.nextLong();
+        }
+        this.cells = new AtomicLongArray(width * depth);
+        this.emissionIntervalNanos = Math.max(1, period.toNanos() / Math.max(1, permits));
+        this.burstToleranceNanos = emissionIntervalNanos * Math.max(0, burst - 1);
+    }
+
+    /**
+     * Consumes one permit for {@code key}. Returns 0 when allowed, otherwise the nanos until a permit frees up.
+     *
+     * @param nanoTime {@link System#nanoTime()} of the request
+     */
+    long tryAcquire(String key, long nanoTime) {
+        long now = nanoTime - origin;
+        int[] index = indexes(key);
+        for (int row = 0; row < index.length; row++) {
+            int i = index[row];
+            long current;
+            long tat;
+            do {
+                current = cells.get(i);
+                tat = Math.max(current, now);
+                long wait = tat - now - burstToleranceNanos;
+                if (wait > 0) {
+                    release(index, row);
+                    return wait;
+                }
+            } while (!cells.compareAndSet(i, current, tat + emissionIntervalNanos));
+        }
+        return 0;
+    }
+
+    /**
+     * Gives back a permit taken by {@link #tryAcquire}, when a later check rejected the request after all.
+     */
+    void release(String key) {
+        int[] index = indexes(key);
+        release(index, index.length);
+    }
+
+    private void release(int[] index, int rows) {
+        for (int row = 0; row < rows; row++) {
+            cells.addAndGet(index[row], -emissionIntervalNanos);
+        }
+    }
+
+    private int[] indexes(String key) {
+        int[] index = new int[seeds.length];
+        for (int row = 0; row < seeds.length; row++) {
+            index[row] = row * width + (int) Long.remainderUnsigned(hash(key, seeds[row]), width);
+        }
+        return index;
+    }
+
+    private static long hash(String key, long seed) {
+        long h = seed;
+        for (int i = 0; i < key.length(); i++) {
+            h = (h ^ key.charAt(i)) * 0x100000001b3L;
+        }
+        // murmur3 finalizer
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
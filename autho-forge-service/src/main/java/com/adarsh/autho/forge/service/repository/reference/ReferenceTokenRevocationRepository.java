@@ -0,0 +1,16 @@
+package com.adarsh.autho.forge.service.repository.reference;
+
+import com.adarsh.autho.forge.service.entity.ReferenceTokenRevocation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+
+public interface ReferenceTokenRevocationRepository extends JpaRepository<ReferenceTokenRevocation, String> {
+
+    @Modifying
+    @Query("delete from ReferenceTokenRevocation r where r.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -0,0 +1,286 @@
+package com.adarsh.autho.forge.service.repository.token;
+
+import com.adarsh.autho.forge.service.config.RefreshTokenStoreProperties;
+import com.adarsh.autho.forge.service.entity.RefreshToken;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Refresh token store kept entirely in memory.
+ * <p>
+ * Lookups by token hash go through a {@link ConcurrentHashMap} without locking.
+ * The per-user index and the expiry queue are split into lock stripes by user ID,
+ * so writes for different users rarely contend. Expired tokens are evicted in
+ * expiry order, and the whole store can optionally be snapshotted to disk and
+ * restored on startup.
+ */
+@Component
+@ConditionalOnProperty(prefix = "autho.forge.refresh-token.store", name = "type", havingValue = "memory")
+public class InMemoryRefreshTokenStore implements RefreshTokenStore {
+
+    private static final Logger log = LoggerFactory.getLogger(InMemoryRefreshTokenStore.class);
+    private static final int SNAPSHOT_VERSION = 1;
+
+    private record Expiry(LocalDateTime expiresAt, String tokenHash) implements Comparable<Expiry> {
+        @Override
+        public int compareTo(Expiry other) {
+            int byTime = expiresAt.compareTo(other.expiresAt);
+            return byTime != 0 ? byTime : tokenHash.compareTo(other.tokenHash);
+        }
+    }
+
+    private static final class Stripe {
+        final ReentrantLock lock = new ReentrantLock();
+        final Map<Long, Set<String>> byUserId = new HashMap<>();
+        final TreeSet<Expiry> byExpiry = new TreeSet<>();
+    }
+
+    private final RefreshTokenStoreProperties properties;
+    private final Map<String, RefreshToken> byTokenHash = new ConcurrentHashMap<>();
+    private final Stripe[] stripes;
+
+    @Autowired
+    public InMemoryRefreshTokenStore(RefreshTokenStoreProperties properties) {
+        this.properties = properties;
+        this.stripes = new Stripe[Math.max(1, properties.getStripes())];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    @Override
+    public void save(RefreshToken token) {
+        RefreshToken copy = copy(token, token.isRevoked(), token.getRevokedAt());
+        Stripe stripe = stripe(copy.getUserId());
+        stripe.lock.lock();
+        try {
+            byTokenHash.put(copy.getRefreshTokenHash(), copy);
+            stripe.byUserId.computeIfAbsent(copy.getUserId(), id -> new HashSet<>()).add(copy.getRefreshTokenHash());
+            stripe.byExpiry.add(new Expiry(copy.getExpiresAt(), copy.getRefreshTokenHash()));
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    @Override
+    public Optional<RefreshTokenView> findByTokenHash(String tokenHash) {
+        return Optional.ofNullable(byTokenHash.get(tokenHash)).map(InMemoryRefreshTokenStore::view);
+    }
+
+    @Override
+    public List<RefreshTokenView> findActiveByUserId(Long userId) {
+        Stripe stripe = stripe(userId);
+        stripe.lock.lock();
+        try {
+            Set<String> hashes = stripe.byUserId.getOrDefault(userId, Collections.emptySet());
+            List<RefreshTokenView> active = new ArrayList<>(hashes.size());
+            for (String hash : hashes) {
+                RefreshToken token = byTokenHash.get(hash);
+                if (token != null && !token.isRevoked()) {
+                    active.add(view(token));
+                }
+            }
+            return active;
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean revokeIfActive(String tokenHash, LocalDateTime revokedAt) {
+        RefreshToken current = byTokenHash.get(tokenHash);
+        if (current == null) {
+            return false;
+        }
+        Stripe stripe = stripe(current.getUserId());
+        stripe.lock.lock();
+        try {
+            // re-read under the stripe lock, a concurrent revoke may have won
+            RefreshToken latest = byTokenHash.get(tokenHash);
+            if (latest == null || latest.isRevoked()) {
+                return false;
+            }
+            byTokenHash.put(tokenHash, copy(latest, true, revokedAt));
+            return true;
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    @Override
+    public void revokeAllForUser(Long userId, LocalDateTime revokedAt) {
+        Stripe stripe = stripe(userId);
+        stripe.lock.lock();
+        try {
+            for (String hash : stripe.byUserId.getOrDefault(userId, Collections.emptySet())) {
+                byTokenHash.computeIfPresent(hash, (h, token) -> token.isRevoked() ? token : copy(token, true, revokedAt));
+            }
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    /**
+     * Removes expired tokens, oldest expiry first. Each stripe is locked only
+     * for as long as it takes to pop its expired head entries.
+     */
+    @Scheduled(fixedDelayString = "${autho.forge.refresh-token.store.eviction-interval:PT1M}")
+    public void evictExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        int evicted = 0;
+        for (Stripe stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                Expiry head;
+                while ((head = stripe.byExpiry.isEmpty() ? null : stripe.byExpiry.first()) != null
+                        && head.expiresAt().isBefore(now)) {
+                    stripe.byExpiry.pollFirst();
+                    RefreshToken removed = byTokenHash.remove(head.tokenHash());
+                    if (removed != null) {
+                        Set<String> userTokens = stripe.byUserId.get(removed.getUserId());
+                        if (userTokens != null && userTokens.remove(head.tokenHash()) && userTokens.isEmpty()) {
+                            stripe.byUserId.remove(removed.getUserId());
+                        }
+                        evicted++;
+                    }
+                }
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+        if (evicted > 0) {
+            log.debug("Evicted {} expired refresh tokens", evicted);
+        }
+    }
+
+    // -------------- snapshots -----------------
+
+    @PostConstruct
+    public void restoreSnapshot() {
+        Path path = snapshotPath();
+        if (path == null || !Files.exists(path)) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        int restored = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (in.readInt() != SNAPSHOT_VERSION) {
+                log.warn("Ignoring refresh token snapshot {} with unknown version", path);
+                return;
+            }
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                RefreshToken token = readToken(in);
+                if (token.getExpiresAt().isAfter(now)) {
+                    save(token);
+                    restored++;
+                }
+            }
+            log.info("Restored {} refresh tokens from {}", restored, path);
+        } catch (IOException e) {
+            log.error("Failed to restore refresh token snapshot from {}", path, e);
+        }
+    }
+
+    @Scheduled(
+            initialDelayString = "${autho.forge.refresh-token.store.snapshot-interval:PT1M}",
+            fixedDelayString = "${autho.forge.refresh-token.store.snapshot-interval:PT1M}")
+    public void writeSnapshot() {
+        Path path = snapshotPath();
+        if (path == null) {
+            return;
+        }
+        // copy the values first so the file write holds no locks
+        List<RefreshToken> tokens = new ArrayList<>(byTokenHash.values());
+        Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                out.writeInt(SNAPSHOT_VERSION);
+                out.writeInt(tokens.size());
+                for (RefreshToken token : tokens) {
+                    writeToken(out, token);
+                }
+            }
+            Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.error("Failed to write refresh token snapshot to {}", path, e);
+        }
+    }
+
+    @PreDestroy
+    public void snapshotOnShutdown() {
+        writeSnapshot();
+    }
+
+    private Path snapshotPath() {
+        String configured = properties.getSnapshotPath();
+        return configured == null || configured.isBlank() ? null : Path.of(configured);
+    }
+
+    private static void writeToken(DataOutputStream out, RefreshToken token) throws IOException {
+        out.writeUTF(token.getRefreshTokenHash());
+        out.writeLong(token.getUserId());
+        out.writeUTF(token.getIssuedAt().toString());
+        out.writeUTF(token.getExpiresAt().toString());
+        out.writeBoolean(token.isRevoked());
+        out.writeUTF(token.getRevokedAt() != null ? token.getRevokedAt().toString() : "");
+    }
+
+    private static RefreshToken readToken(DataInputStream in) throws IOException {
+        String hash = in.readUTF();
+        long userId = in.readLong();
+        LocalDateTime issuedAt = LocalDateTime.parse(in.readUTF());
+        LocalDateTime expiresAt = LocalDateTime.parse(in.readUTF());
+        boolean revoked = in.readBoolean();
+        String revokedAt = in.readUTF();
+        return RefreshToken.builder()
+                .refreshTokenHash(hash)
+                .userId(userId)
+                .issuedAt(issuedAt)
+                .expiresAt(expiresAt)
+                .revoked(revoked)
+                .revokedAt(revokedAt.isEmpty() ? null : LocalDateTime.parse(revokedAt))
+                .build();
+    }
+
+    // -------------- helpers -----------------
+
+    private Stripe stripe(Long userId) {
+        return stripes[Math.floorMod(userId.hashCode(), stripes.length)];
+    }
+
+    // stored tokens are never mutated in place, state changes swap in a copy
+    private static RefreshTokenView view(RefreshToken token) {
+        return new RefreshTokenView(token.getUserId(), token.getRefreshTokenHash(), token.getExpiresAt(), token.isRevoked());
+    }
+
+    private static RefreshToken copy(RefreshToken token, boolean revoked, LocalDateTime revokedAt) {
+        return RefreshToken.builder()
+                .id(token.getId())
+                .userId(token.getUserId())
+                .refreshTokenHash(token.getRefreshTokenHash())
+                .issuedAt(token.getIssuedAt())
+                .expiresAt(token.getExpiresAt())
+                .revoked(revoked)
+                .revokedAt(revokedAt)
+                .build();
+    }
+}
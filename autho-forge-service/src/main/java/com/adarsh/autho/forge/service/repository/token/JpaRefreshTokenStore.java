@@ -0,0 +1,61 @@
+package com.adarsh.autho.forge.service.repository.token;
+
+import com.adarsh.autho.forge.service.datasource.ReadYourWrites;
+import com.adarsh.autho.forge.service.entity.RefreshToken;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Component
+@ConditionalOnProperty(prefix = "autho.forge.refresh-token.store", name = "type", havingValue = "jpa", matchIfMissing = true)
+public class JpaRefreshTokenStore implements RefreshTokenStore {
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private ReadYourWrites readYourWrites;
+
+    @Override
+    public void save(RefreshToken token) {
+        refreshTokenRepository.save(token);
+    }
+
+    @Override
+    public Optional<RefreshTokenView> findByTokenHash(String tokenHash) {
+        // a token issued a moment ago may not have reached the replica yet
+        return readYourWrites.findWithPrimaryFallback(() -> refreshTokenRepository.findViewByRefreshTokenHash(tokenHash));
+    }
+
+    @Override
+    public List<RefreshTokenView> findActiveByUserId(Long userId) {
+        return refreshTokenRepository.findActiveViewsByUserId(userId);
+    }
+
+    @Override
+    @Transactional
+    public boolean revokeIfActive(String tokenHash, LocalDateTime revokedAt) {
+        // conditional update, the row lock makes exactly one concurrent caller see 1
+        return refreshTokenRepository.revokeIfActive(tokenHash, revokedAt) == 1;
+    }
+
+    /**
+     * One transaction, so a failed insert rolls the revocation back and the old token stays usable.
+     */
+    @Override
+    @Transactional
+    public boolean rotate(String tokenHash, LocalDateTime revokedAt, RefreshToken successor) {
+        return RefreshTokenStore.super.rotate(tokenHash, revokedAt, successor);
+    }
+
+    @Override
+    @Transactional
+    public void revokeAllForUser(Long userId, LocalDateTime revokedAt) {
+        refreshTokenRepository.revokeAllTokens(userId, revokedAt);
+    }
+}
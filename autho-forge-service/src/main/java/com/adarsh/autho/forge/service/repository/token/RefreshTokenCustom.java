@@ -1,4 +1,30 @@
 package com.adarsh.autho.forge.service.repository.token;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
 public interface RefreshTokenCustom {
+
+    /**
+     * The token with this hash as a read-only view (no managed entity), read by every refresh.
+     */
+    Optional<RefreshTokenView> findViewByRefreshTokenHash(String refreshTokenHash);
+
+    /**
+     * Non-revoked tokens of a user, served by idx_refresh_token_user_id_revoked.
+     */
+    List<RefreshTokenView> findActiveViewsByUserId(Long userId);
+
+    /**
+     * Deletes at most {@code batchSize} tokens whose expiry is before {@code now}.
+     * Returns the number of rows removed.
+     */
+    int deleteExpiredBatch(LocalDateTime now, int batchSize);
+
+    /**
+     * Deletes at most {@code batchSize} revoked tokens revoked before {@code revokedBefore}.
+     * Returns the number of rows removed.
+     */
+    int deleteRevokedBatch(LocalDateTime revokedBefore, int batchSize);
 }
@@ -6,14 +6,16 @@ import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
-import java.util.Optional;
+import java.time.LocalDateTime;
 
 public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long>, RefreshTokenCustom {
     void deleteByUserId(Long userId);
 
-    Optional<RefreshToken> findByUserIdAndRevokedFalse(Long userId);
+    @Modifying
+    @Query("update RefreshToken r set r.revoked = true, r.revokedAt = :revokedAt where r.refreshTokenHash = :hash and r.revoked = false")
+    int revokeIfActive(@Param("hash") String refreshTokenHash, @Param("revokedAt") LocalDateTime revokedAt);
 
     @Modifying
-    @Query("update RefreshToken r set r.revoked = true where r.userId = :userId")
-    void revokeAllTokens(@Param("userId") Long userId);
+    @Query("update RefreshToken r set r.revoked = true, r.revokedAt = :revokedAt where r.userId = :userId and r.revoked = false")
+    void revokeAllTokens(@Param("userId") Long userId, @Param("revokedAt") LocalDateTime revokedAt);
 }
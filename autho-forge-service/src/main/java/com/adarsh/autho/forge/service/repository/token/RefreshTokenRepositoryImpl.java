@@ -1,4 +1,68 @@
 package com.adarsh.autho.forge.service.repository.token;
 
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
 public class RefreshTokenRepositoryImpl implements RefreshTokenCustom {
+
+    private static final String SELECT_VIEW = "select new com.adarsh.autho.forge.service.repository.token.RefreshTokenView("
+            + "r.userId, r.refreshTokenHash, r.expiresAt, r.revoked) from RefreshToken r ";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<RefreshTokenView> findViewByRefreshTokenHash(String refreshTokenHash) {
+        List<RefreshTokenView> found = entityManager.createQuery(SELECT_VIEW + "where r.refreshTokenHash = :hash", RefreshTokenView.class)
+                .setParameter("hash", refreshTokenHash)
+                .getResultList();
+        return found.isEmpty() ? Optional.empty() : Optional.of(found.get(0));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<RefreshTokenView> findActiveViewsByUserId(Long userId) {
+        return entityManager.createQuery(SELECT_VIEW + "where r.userId = :userId and r.revoked = false", RefreshTokenView.class)
+                .setParameter("userId", userId)
+                .getResultList();
+    }
+
+    @Override
+    public int deleteExpiredBatch(LocalDateTime now, int batchSize) {
+        // range scan on idx_refresh_token_expires_at, bounded by batchSize
+        List<Long> ids = entityManager.createQuery(
+                        "select r.id from RefreshToken r where r.expiresAt < :now order by r.expiresAt", Long.class)
+                .setParameter("now", now)
+                .setMaxResults(batchSize)
+                .getResultList();
+
+        return deleteByIds(ids);
+    }
+
+    @Override
+    public int deleteRevokedBatch(LocalDateTime revokedBefore, int batchSize) {
+        // equality on revoked + range on revoked_at, matches idx_refresh_token_revoked_at
+        List<Long> ids = entityManager.createQuery(
+                        "select r.id from RefreshToken r where r.revoked = true and r.revokedAt < :before order by r.revokedAt", Long.class)
+                .setParameter("before", revokedBefore)
+                .setMaxResults(batchSize)
+                .getResultList();
+
+        return deleteByIds(ids);
+    }
+
+    private int deleteByIds(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        return entityManager.createQuery("delete from RefreshToken r where r.id in :ids")
+                .setParameter("ids", ids)
+                .executeUpdate();
+    }
 }
@@ -0,0 +1,45 @@
+package com.adarsh.autho.forge.service.repository.token;
+
+import com.adarsh.autho.forge.service.entity.RefreshToken;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Storage for refresh tokens. Tokens are looked up by their hash (the selector)
+ * or by the owning user.
+ * Implementations: {@link JpaRefreshTokenStore} (default) and {@link InMemoryRefreshTokenStore}.
+ */
+public interface RefreshTokenStore {
+
+    void save(RefreshToken token);
+
+    Optional<RefreshTokenView> findByTokenHash(String tokenHash);
+
+    /**
+     * All non-revoked tokens of a user (one per device/session).
+     */
+    List<RefreshTokenView> findActiveByUserId(Long userId);
+
+    /**
+     * Revokes the token only if it is still active.
+     * Returns false when another caller revoked it first, which makes rotation
+     * single-winner under concurrency.
+     */
+    boolean revokeIfActive(String tokenHash, LocalDateTime revokedAt);
+
+    /**
+     * Revokes {@code tokenHash} if still active and saves its successor, both or neither.
+     * Returns false without saving when another caller revoked the old token first.
+     */
+    default boolean rotate(String tokenHash, LocalDateTime revokedAt, RefreshToken successor) {
+        if (!revokeIfActive(tokenHash, revokedAt)) {
+            return false;
+        }
+        save(successor);
+        return true;
+    }
+
+    void revokeAllForUser(Long userId, LocalDateTime revokedAt);
+}
@@ -0,0 +1,9 @@
+package com.adarsh.autho.forge.service.repository.token;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only view of a stored refresh token, the columns rotation and validation look at.
+ */
+public record RefreshTokenView(Long userId, String refreshTokenHash, LocalDateTime expiresAt, boolean revoked) {
+}
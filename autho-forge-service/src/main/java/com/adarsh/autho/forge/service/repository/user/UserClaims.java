@@ -0,0 +1,9 @@
+package com.adarsh.autho.forge.service.repository.user;
+
+import com.adarsh.autho.forge.service.enums.Roles;
+
+/**
+ * The user fields that end up in issued tokens, read as a projection on refresh.
+ */
+public record UserClaims(Long id, String username, Roles role) {
+}
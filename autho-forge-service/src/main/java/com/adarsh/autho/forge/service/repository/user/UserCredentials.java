@@ -0,0 +1,14 @@
+package com.adarsh.autho.forge.service.repository.user;
+
+import com.adarsh.autho.forge.service.enums.Roles;
+
+/**
+ * What login reads of a user: the hash to check the password against and the claims.
+ * A projection, so no managed entity and none of the audit timestamps are loaded.
+ */
+public record UserCredentials(Long id, String username, String passwordHash, Roles role) {
+
+    public UserClaims claims() {
+        return new UserClaims(id, username, role);
+    }
+}
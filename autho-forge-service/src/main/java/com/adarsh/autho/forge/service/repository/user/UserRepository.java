@@ -3,11 +3,12 @@ package com.adarsh.autho.forge.service.repository.user;
 import com.adarsh.autho.forge.service.entity.AuthUser;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<AuthUser, Long>, UserRepositoryCustom {
+    // declared query methods get no transaction by default, read-only ones are routed to a replica
+    @Transactional(readOnly = true)
     boolean existsByUsername(String username);
-    Optional<AuthUser> findByUsername(String username);
 }
@@ -1,5 +1,28 @@
 package com.adarsh.autho.forge.service.repository.user;
 
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Read paths of login, refresh and the admin API. They select only the columns they need into records,
+ * so no managed entity, persistence context entry or dirty-check snapshot is created per row.
+ */
 public interface UserRepositoryCustom {
-//    boolean findByUserName(String username);
+
+    Optional<UserCredentials> findCredentialsByUsername(String username);
+
+    Optional<UserClaims> findClaimsById(Long id);
+
+    /**
+     * Keyset page: up to {@code limit} users with an id above {@code afterId}, by id. The index
+     * seek costs the same on page 1 and page 100,000, unlike an offset.
+     */
+    List<UserSummary> findSummariesAfter(long afterId, int limit);
+
+    /**
+     * All users by id from a forward-only cursor, {@code fetchSize} rows per driver round trip.
+     * Must be consumed and closed inside the caller's transaction.
+     */
+    Stream<UserSummary> streamSummaries(int fetchSize);
 }
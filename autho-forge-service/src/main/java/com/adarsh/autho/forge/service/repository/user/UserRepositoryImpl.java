@@ -1,6 +1,62 @@
 package com.adarsh.autho.forge.service.repository.user;
 
-public class UserRepositoryImpl implements UserRepositoryCustom{
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
+public class UserRepositoryImpl implements UserRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // plain JPQL rather than derived projections, the query method layer costs more than the entity it saves
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<UserCredentials> findCredentialsByUsername(String username) {
+        List<UserCredentials> found = entityManager.createQuery(
+                        "select new com.adarsh.autho.forge.service.repository.user.UserCredentials(u.id, u.username, u.passwordHash, u.role) "
+                                + "from AuthUser u where u.username = :username", UserCredentials.class)
+                .setParameter("username", username)
+                .getResultList();
+        return found.isEmpty() ? Optional.empty() : Optional.of(found.get(0));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<UserClaims> findClaimsById(Long id) {
+        List<UserClaims> found = entityManager.createQuery(
+                        "select new com.adarsh.autho.forge.service.repository.user.UserClaims(u.id, u.username, u.role) "
+                                + "from AuthUser u where u.id = :id", UserClaims.class)
+                .setParameter("id", id)
+                .getResultList();
+        return found.isEmpty() ? Optional.empty() : Optional.of(found.get(0));
+    }
+
+    private static final String SUMMARY_SELECT =
+            "select new com.adarsh.autho.forge.service.repository.user.UserSummary(u.id, u.username, u.role, u.createdAt) "
+                    + "from AuthUser u ";
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<UserSummary> findSummariesAfter(long afterId, int limit) {
+        return entityManager.createQuery(SUMMARY_SELECT + "where u.id > :afterId order by u.id", UserSummary.class)
+                .setParameter("afterId", afterId)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public Stream<UserSummary> streamSummaries(int fetchSize) {
+        // Hibernate streams over a forward-only ScrollableResults, the driver holds at most fetchSize rows
+        return entityManager.createQuery(SUMMARY_SELECT + "order by u.id", UserSummary.class)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
 }
@@ -0,0 +1,16 @@
+package com.adarsh.autho.forge.service.repository.user;
+
+import com.adarsh.autho.forge.service.enums.Roles;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.time.LocalDateTime;
+
+/**
+ * One row of the admin listing and export, without the password hash.
+ */
+public record UserSummary(
+        Long id,
+        String username,
+        Roles role,
+        @JsonProperty("created_at") LocalDateTime createdAt) {
+}
@@ -1,5 +1,11 @@
 package com.adarsh.autho.forge.service.security;
 
+import com.adarsh.autho.forge.filter.JwtAuthenticationEntryPoint;
+import com.adarsh.autho.forge.filter.JwtAuthenticationFilter;
+import com.adarsh.autho.forge.filter.PublicPathMatcher;
+import com.adarsh.autho.forge.service.enums.Roles;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -8,24 +14,50 @@ import org.springframework.security.config.annotation.web.configurers.AbstractHt
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+
+import java.util.List;
 
 @Configuration
 @EnableWebSecurity
 public class WebSecurityConfig {
 
+    /**
+     * The one list of unauthenticated paths, also the starter's filter bypass.
+     */
+    @Value("${autho.forge.public-paths}")
+    private String[] publicPaths;
+
     @Bean
     public PasswordEncoder passwordEncoder() {
         return new BCryptPasswordEncoder();
     }
 
+    /**
+     * With {@code autho.forge.enabled=true} the starter's filter authenticates bearer tokens for
+     * everything not permitted here, verifying them against the keyring in memory.
+     * Its {@link PublicPathMatcher} decides both what the filter skips and what is permitted here,
+     * without the starter the same property is compiled locally.
+     */
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http,
+                                                   ObjectProvider<JwtAuthenticationFilter> jwtAuthenticationFilter,
+                                                   ObjectProvider<JwtAuthenticationEntryPoint> jwtAuthenticationEntryPoint,
+                                                   ObjectProvider<PublicPathMatcher> publicPathMatcher) throws Exception {
+        PublicPathMatcher permitted = publicPathMatcher.getIfAvailable(() -> PublicPathMatcher.compile(List.of(publicPaths)));
         http
             .csrf(AbstractHttpConfigurer::disable)
             .authorizeHttpRequests(auth -> auth
-                .requestMatchers("/auth/**", "/.well-known/**", "/error").permitAll()
+                .requestMatchers(permitted).permitAll()
+                .requestMatchers("/actuator/**").hasAuthority("ROLE_" + Roles.ADMIN_USER.name())
+                .requestMatchers("/admin/users/**").hasAnyAuthority("ROLE_" + Roles.ADMIN_USER.name(), "users:read")
                 .anyRequest().authenticated()
             );
+        jwtAuthenticationFilter.ifAvailable(filter -> http.addFilterBefore(filter, UsernamePasswordAuthenticationFilter.class));
+        JwtAuthenticationEntryPoint entryPoint = jwtAuthenticationEntryPoint.getIfAvailable();
+        if (entryPoint != null) {
+            http.exceptionHandling(exceptions -> exceptions.authenticationEntryPoint(entryPoint));
+        }
         return http.build();
     }
 }
\ No newline at end of file
@@ -0,0 +1,70 @@
+package com.adarsh.autho.forge.service.service;
+
+import com.adarsh.autho.forge.service.config.AdminProperties;
+import com.adarsh.autho.forge.service.dto.UserPageResponse;
+import com.adarsh.autho.forge.service.repository.user.UserRepository;
+import com.adarsh.autho.forge.service.repository.user.UserSummary;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.databind.ObjectWriter;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Admin reads over all users. Both paths seek by id and read projections, so memory use
+ * doesn't depend on the size of the table or on how deep a client pages.
+ */
+@Service
+public class AdminUserService {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AdminProperties properties;
+
+    @Autowired
+    private JsonMapper jsonMapper;
+
+    /**
+     * @param after last id of the previous page, null for the first page
+     * @param limit requested page size, null for the default, capped at max-page-size
+     */
+    public UserPageResponse listUsers(Long after, Integer limit) {
+        int size = limit == null ? properties.getDefaultPageSize()
+                : Math.max(1, Math.min(limit, properties.getMaxPageSize()));
+        List<UserSummary> users = userRepository.findSummariesAfter(after == null ? 0 : after, size);
+        // a full page may have more behind it, a short one is the last
+        Long nextAfter = users.size() == size ? users.get(users.size() - 1).id() : null;
+        return new UserPageResponse(users, nextAfter);
+    }
+
+    /**
+     * Writes every user as one JSON line, straight from the cursor to {@code out}. Only the
+     * driver's fetch buffer and the row being written are held at any time. Runs in one
+     * read-only transaction (on a replica when routing is configured) for a consistent cursor.
+     *
+     * @return number of users written
+     */
+    @Transactional(readOnly = true)
+    public long exportUsers(OutputStream out) throws IOException {
+        ObjectWriter rowWriter = jsonMapper.writerFor(UserSummary.class);
+        long written = 0;
+        try (Stream<UserSummary> users = userRepository.streamSummaries(properties.getExportFetchSize())) {
+            Iterator<UserSummary> rows = users.iterator();
+            while (rows.hasNext()) {
+                out.write(rowWriter.writeValueAsBytes(rows.next()));
+                out.write('\n');
+                written++;
+            }
+        }
+        out.flush();
+        return written;
+    }
+}
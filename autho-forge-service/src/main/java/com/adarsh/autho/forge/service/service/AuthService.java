@@ -1,13 +1,26 @@
 package com.adarsh.autho.forge.service.service;
 
+import com.adarsh.autho.forge.service.audit.AuditLog;
+import com.adarsh.autho.forge.service.audit.ClientInfo;
+import com.adarsh.autho.forge.service.datasource.ReadYourWrites;
 import com.adarsh.autho.forge.service.dto.LoginRequest;
+import com.adarsh.autho.forge.service.dto.RefreshTokenDTO;
 import com.adarsh.autho.forge.service.dto.RegisterRequest;
 import com.adarsh.autho.forge.service.dto.RegisterResponse;
 import com.adarsh.autho.forge.service.dto.TokenResponse;
 import com.adarsh.autho.forge.service.entity.AuthUser;
+import com.adarsh.autho.forge.service.enums.AuditEventType;
+import com.adarsh.autho.forge.service.enums.Roles;
+import com.adarsh.autho.forge.service.enums.TokenFormat;
 import com.adarsh.autho.forge.service.exception.InvalidCredentialsException;
+import com.adarsh.autho.forge.service.exception.RoleNotAssignableException;
 import com.adarsh.autho.forge.service.exception.UserCreationException;
 import com.adarsh.autho.forge.service.exception.UserNameAlreadyExistsException;
+import com.adarsh.autho.forge.service.observation.AuthObservations;
+import com.adarsh.autho.forge.service.observation.AuthPhase;
+import com.adarsh.autho.forge.service.observation.PasswordHashEvent;
+import com.adarsh.autho.forge.service.repository.user.UserClaims;
+import com.adarsh.autho.forge.service.repository.user.UserCredentials;
 import com.adarsh.autho.forge.service.repository.user.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DataAccessException;
@@ -36,28 +49,52 @@ public class AuthService {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private AuthObservations observations;
+
+    @Autowired
+    private AuditLog auditLog;
+
+    @Autowired
+    private ReadYourWrites readYourWrites;
+
 
     public RegisterResponse register(RegisterRequest requestDto){
+        return register(requestDto, ClientInfo.UNKNOWN);
+    }
+
+    public RegisterResponse register(RegisterRequest requestDto, ClientInfo client){
+        // self-registration only creates plain users, admins are promoted out of band
+        if (requestDto.getRoles() != Roles.USER) {
+            throw new RoleNotAssignableException("Registration creates " + Roles.USER + " accounts only");
+        }
         //Username check
-        boolean userExists = userRepository.existsByUsername(requestDto.getUsername());
+        boolean userExists = observations.observe(AuthPhase.USER_LOOKUP,
+                () -> userRepository.existsByUsername(requestDto.getUsername()));
         if(userExists){
             throw new UserNameAlreadyExistsException("The username '" + requestDto.getUsername() + "' is already taken.");
         }
 
         //Hassing password using Bcrypt
-        String hashPassword = passwordEncoder.encode(requestDto.getPassword());
+        String hashPassword = observations.observe(AuthPhase.PASSWORD_HASH,
+                () -> hashPassword(requestDto.getPassword()));
 
         AuthUser newUser = AuthUser.builder()
                 .username(requestDto.getUsername())
                 .passwordHash(hashPassword)
-                .role(requestDto.getRoles())
+                .role(Roles.USER)
                 .build();
         //throwing a dataaccess exception in case new user cannot be saved
         try {
-            userRepository.save(newUser);
+            observations.observe(AuthPhase.USER_SAVE, () -> userRepository.save(newUser));
         } catch (DataAccessException e) {
             throw new UserCreationException("Unable to register user at this time. Please try again later.");
         }
+        // the login that usually follows must not look for the user on a replica that hasn't caught up
+        readYourWrites.recordWrite(newUser.getUsername());
+        readYourWrites.recordWrite(newUser.getId());
+
+        auditLog.record(AuditEventType.REGISTER, newUser.getId(), newUser.getUsername(), null, client);
 
         //returning the response builded from new user
         RegisterResponse response = RegisterResponse.builder()
@@ -72,23 +109,104 @@ public class AuthService {
     @Autowired
     private JwtTokenService jwtTokenService;
 
+    @Autowired
+    private ReferenceTokenService referenceTokenService;
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
     public TokenResponse login(LoginRequest loginRequestDto){
+        return login(loginRequestDto, ClientInfo.UNKNOWN);
+    }
+
+    public TokenResponse login(LoginRequest loginRequestDto, ClientInfo client){
         //Optional allows us to handle NPE
-        Optional<AuthUser> currentUser = userRepository.findByUsername(loginRequestDto.getUsername());
+        Optional<UserCredentials> currentUser = observations.observe(AuthPhase.USER_LOOKUP,
+                () -> readYourWrites.read(loginRequestDto.getUsername(),
+                        () -> userRepository.findCredentialsByUsername(loginRequestDto.getUsername())));
         if (currentUser.isEmpty()) {
+            auditLog.record(AuditEventType.LOGIN_FAILURE, null, loginRequestDto.getUsername(), "unknown_user", client);
             throw new InvalidCredentialsException("Invalid username or password");
         }
-        if (!passwordEncoder.matches(loginRequestDto.getPassword(), currentUser.get().getPasswordHash())) {
+        boolean passwordMatches = observations.observe(AuthPhase.PASSWORD_VERIFY,
+                () -> verifyPassword(loginRequestDto.getPassword(), currentUser.get().passwordHash()));
+        if (!passwordMatches) {
+            auditLog.record(AuditEventType.LOGIN_FAILURE, currentUser.get().id(), loginRequestDto.getUsername(), "bad_password", client);
             throw new InvalidCredentialsException("Invalid username or password");
         }
 
+        UserClaims user = currentUser.get().claims();
+        RefreshTokenDTO refreshToken = observations.observe(AuthPhase.REFRESH_STORE,
+                () -> refreshTokenService.generateAndStore(user.id()));
+        TokenResponse response = issueTokens(user, refreshToken, loginRequestDto.getTokenFormat());
+        auditLog.record(AuditEventType.LOGIN_SUCCESS, user.id(), user.username(), null, client);
+        return response;
+    }
+
+    public TokenResponse refresh(String refreshToken){
+        return refresh(refreshToken, ClientInfo.UNKNOWN);
+    }
+
+    public TokenResponse refresh(String refreshToken, ClientInfo client){
+        // Single-use: the old token is revoked, a concurrent reuse gets null
+        RefreshTokenDTO rotated = observations.observe(AuthPhase.REFRESH_STORE,
+                () -> refreshTokenService.rotateToken(refreshToken));
+        if (rotated == null) {
+            auditLog.record(AuditEventType.REFRESH_FAILURE, null, null, "invalid_token", client);
+            throw new InvalidCredentialsException("Invalid or expired refresh token");
+        }
+
+        UserClaims user = observations.observe(AuthPhase.USER_LOOKUP,
+                () -> readYourWrites.read(rotated.getUserId(), () -> userRepository.findClaimsById(rotated.getUserId())))
+                .orElseThrow(() -> new InvalidCredentialsException("Invalid or expired refresh token"));
+        TokenResponse response = issueTokens(user, rotated, TokenFormat.JWT);
+        auditLog.record(AuditEventType.REFRESH_SUCCESS, user.id(), user.username(), null, client);
+        return response;
+    }
+
+    private String hashPassword(String password) {
+        PasswordHashEvent event = new PasswordHashEvent();
+        event.begin();
+        String hash = passwordEncoder.encode(password);
+        if (event.shouldCommit()) {
+            event.operation = "HASH";
+            event.cost = PasswordHashEvent.bcryptCost(hash);
+            event.commit();
+        }
+        return hash;
+    }
+
+    private boolean verifyPassword(String password, String hash) {
+        PasswordHashEvent event = new PasswordHashEvent();
+        event.begin();
+        boolean matches = passwordEncoder.matches(password, hash);
+        if (event.shouldCommit()) {
+            event.operation = "VERIFY";
+            event.cost = PasswordHashEvent.bcryptCost(hash);
+            event.matched = matches;
+            event.commit();
+        }
+        return matches;
+    }
+
+    private TokenResponse issueTokens(UserClaims user, RefreshTokenDTO refreshToken, TokenFormat tokenFormat) {
+        // Opaque reference token when asked for and enabled, JWT otherwise
+        if (tokenFormat == TokenFormat.REFERENCE && referenceTokenService.isEnabled()) {
+            return TokenResponse.builder()
+                    .accessToken(referenceTokenService.issue(user))
+                    .refreshToken(refreshToken.getRawToken())
+                    .tokenType("Bearer")
+                    .expiresIn(referenceTokenService.getTtlSeconds())
+                    .build();
+        }
+
         // Generate access token
-        AuthUser user = currentUser.get();
         String accessToken = jwtTokenService.generateAccessToken(user);
         
         // Build token response
         TokenResponse response = TokenResponse.builder()
                 .accessToken(accessToken)
+                .refreshToken(refreshToken.getRawToken())
                 .tokenType("Bearer")
                 .expiresIn(15 * 60L) // 15 minutes in seconds
                 .build();
@@ -96,11 +214,6 @@ public class AuthService {
         return response;
     }
 
-    public TokenResponse refresh(String refreshToken){
-        // TODO: Implement refresh token logic
-        throw new UnsupportedOperationException("Refresh not yet implemented");
-    }
-
     public TokenResponse generateAccessToken(AuthUser user){
         //  Deprecated - use jwtTokenService directly
         throw new UnsupportedOperationException("Use jwtTokenService.generateAccessToken instead");
@@ -0,0 +1,23 @@
+package com.adarsh.autho.forge.service.service;
+
+import com.adarsh.autho.forge.service.LocalKeySource;
+import com.nimbusds.jose.jwk.JWKSet;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Hands the published keys to autho-forge-starter when it runs in this JVM, so endpoints
+ * protected by it verify tokens without a loopback call to our own JWKS endpoint.
+ * Rotation is visible on the next verification, the snapshot is replaced on every key change.
+ */
+@Component
+public class InProcessKeySource implements LocalKeySource {
+
+    @Autowired
+    private WellKnownDocumentService wellKnownDocumentService;
+
+    @Override
+    public JWKSet currentKeys() {
+        return wellKnownDocumentService.getJwkSet();
+    }
+}
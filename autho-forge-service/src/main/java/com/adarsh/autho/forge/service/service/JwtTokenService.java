@@ -1,16 +1,22 @@
 package com.adarsh.autho.forge.service.service;
 
-import com.adarsh.autho.forge.service.entity.AuthUser;
+import com.adarsh.autho.forge.service.key.SigningKey;
+import com.adarsh.autho.forge.service.observation.AuthObservations;
+import com.adarsh.autho.forge.service.observation.AuthPhase;
+import com.adarsh.autho.forge.service.observation.TokenSigningEvent;
+import com.adarsh.autho.forge.service.repository.user.UserClaims;
+import com.adarsh.autho.forge.service.signing.TokenSigner;
 import com.nimbusds.jose.JOSEObjectType;
 import com.nimbusds.jose.JWSAlgorithm;
 import com.nimbusds.jose.JWSHeader;
-import com.nimbusds.jose.crypto.RSASSASigner;
 import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jose.util.Base64URL;
 import com.nimbusds.jwt.SignedJWT;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.Date;
@@ -21,44 +27,76 @@ public class JwtTokenService {
     @Autowired
     private KeyProviderService keyProviderService;
 
+    @Autowired
+    private TokenSigner tokenSigner;
+
+    @Autowired
+    private AuthObservations observations;
+
+    @Autowired
+    private PermissionRegistry permissionRegistry;
+
     @Value("${autho.forge.iss}")
     private String issuer;
 
     @Value("${autho.forge.access-token.ttl-minutes}")
     private long accessTokenTtlMinutes;
 
-    public String generateAccessToken(AuthUser user) {
+    public String generateAccessToken(UserClaims user) {
+        // single volatile read, kid and signer always come from the same key even during rotation
+        SigningKey signingKey = keyProviderService.getActiveKey();
+
         //Build JWT claims/payload
-        JWTClaimsSet claims = new JWTClaimsSet.Builder()
-                .subject(String.valueOf(user.getId()))
-                .claim("username", user.getUsername())
-                .claim("roles", user.getRole().name())
+        JWTClaimsSet.Builder claimsBuilder = new JWTClaimsSet.Builder()
+                .subject(String.valueOf(user.id()))
+                .claim("username", user.username())
+                .claim("roles", user.role().name())
                 .issuer(issuer)
                 .issueTime(new Date())
                 .expirationTime(
                         Date.from(Instant.now()
-                                .plus(Duration.ofMinutes(accessTokenTtlMinutes))))
-                        .build();
+                                .plus(Duration.ofMinutes(accessTokenTtlMinutes))));
+
+        // Compact permission bitset, precomputed per role
+        if (permissionRegistry.isEnabled()) {
+            claimsBuilder
+                    .claim(PermissionRegistry.PERMISSIONS_CLAIM, permissionRegistry.encode(user.role()))
+                    .claim(PermissionRegistry.VERSION_CLAIM, permissionRegistry.getVersion());
+        }
+        JWTClaimsSet claims = claimsBuilder.build();
 
         //Builder JWT header with RSA256 and Key ID
         JWSHeader header = new JWSHeader.Builder(JWSAlgorithm.RS256)
-                .keyID(keyProviderService.getKeyId())
+                .keyID(signingKey.getKid())
                 .type(JOSEObjectType.JWT)
                 .build();
 
-        //Create the signed JWT Object
-        SignedJWT signedJWT = new SignedJWT(header, claims);
+        //Create the JWT Object, its signing input is "header.payload"
+        byte[] signingInput = new SignedJWT(header, claims).getSigningInput();
 
-        //Sign using RSA private key
-        try {
-            RSASSASigner signer = new RSASSASigner(keyProviderService.getPrivateKey());
-            signedJWT.sign(signer);
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to sign JWT", e);
-        }
+        //Sign locally or through the remote signer, timed as its own phase
+        return observations.observe(AuthPhase.TOKEN_SIGN, () -> {
+            TokenSigningEvent event = new TokenSigningEvent();
+            event.begin();
+            try {
+                Base64URL signature = tokenSigner.sign(signingKey, header, signingInput);
+                recordSigning(event, header, null);
+                return new String(signingInput, StandardCharsets.US_ASCII) + "." + signature;
+            } catch (Exception e) {
+                recordSigning(event, header, e);
+                throw new RuntimeException("Failed to sign JWT", e);
+            }
+        });
+    }
 
-        //Return token string
-        return signedJWT.serialize();
+    private void recordSigning(TokenSigningEvent event, JWSHeader header, Exception error) {
+        if (event.shouldCommit()) {
+            event.algorithm = header.getAlgorithm().getName();
+            event.keyId = header.getKeyID();
+            event.signer = tokenSigner.getClass().getSimpleName();
+            event.error = error != null ? error.toString() : null;
+            event.commit();
+        }
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,113 @@
+package com.adarsh.autho.forge.service.service;
+
+import com.adarsh.autho.forge.service.dto.PublishedDocument;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Long-poll change feed for the JWKS.
+ * <p>
+ * A validator sends the keyring version (and JWKS ETag) it holds. If the service is on a
+ * different one the current JWKS is returned right away, otherwise the request is parked
+ * (no thread held) until the keyring changes or the wait runs out (304). Validators that keep
+ * one of these open learn about new keys within a round trip and don't need to poll at all.
+ * Comparing for inequality rather than "newer" also covers a restarted service whose version starts over.
+ * Answers are not cacheable: Spring Security's default headers (no-store) are written before the result.
+ */
+@Service
+public class KeyChangeStream {
+
+    public static final String VERSION_HEADER = "X-Jwks-Version";
+
+    private record Snapshot(long version, PublishedDocument jwks) {
+    }
+
+    @Value("${autho.forge.jwks.change-poll.max-wait:PT20M}")
+    private Duration maxWait;
+
+    @Value("${autho.forge.jwks.change-poll.max-waiters:10000}")
+    private int maxWaiters;
+
+    private volatile Snapshot latest;
+    private final Set<DeferredResult<ResponseEntity<byte[]>>> waiters = ConcurrentHashMap.newKeySet();
+
+    @Autowired
+    public KeyChangeStream(MeterRegistry meterRegistry) {
+        Gauge.builder("autho.forge.jwks.change_poll.waiters", waiters, Set::size)
+                .description("Validators currently waiting for a key change")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Called with every rebuilt JWKS, wakes up all parked requests.
+     */
+    void publish(long version, PublishedDocument jwks) {
+        Snapshot snapshot = new Snapshot(version, jwks);
+        this.latest = snapshot;
+        for (DeferredResult<ResponseEntity<byte[]>> waiter : waiters) {
+            waiter.setResult(changed(snapshot));
+        }
+    }
+
+    /**
+     * @param since version the caller holds
+     * @param etag  JWKS ETag the caller holds, null when unknown
+     * @param wait  requested wait, capped at the configured maximum
+     */
+    public DeferredResult<ResponseEntity<byte[]>> await(long since, String etag, Duration wait) {
+        Duration timeout = wait == null || wait.isNegative() || wait.compareTo(maxWait) > 0 ? maxWait : wait;
+        Snapshot current = latest;
+        DeferredResult<ResponseEntity<byte[]>> result = new DeferredResult<>(timeout.toMillis(), unchanged(current));
+
+        if (isStale(since, etag, current)) {
+            result.setResult(changed(current));
+            return result;
+        }
+        if (waiters.size() >= maxWaiters) {
+            // the caller falls back to polling the plain JWKS, which is cheap to serve
+            result.setResult(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header("Retry-After", String.valueOf(maxWait.toSeconds()))
+                    .build());
+            return result;
+        }
+
+        waiters.add(result);
+        result.onCompletion(() -> waiters.remove(result));
+        // a change published between the check above and add() would otherwise be missed
+        Snapshot afterAdd = latest;
+        if (afterAdd != current) {
+            result.setResult(changed(afterAdd));
+        }
+        return result;
+    }
+
+    private static boolean isStale(long since, String etag, Snapshot current) {
+        return since != current.version() || (etag != null && !etag.equals(current.jwks().etag()));
+    }
+
+    private static ResponseEntity<byte[]> changed(Snapshot snapshot) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(snapshot.jwks().etag())
+                .header(VERSION_HEADER, String.valueOf(snapshot.version()))
+                .body(snapshot.jwks().body());
+    }
+
+    private static ResponseEntity<byte[]> unchanged(Snapshot snapshot) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(snapshot.jwks().etag())
+                .header(VERSION_HEADER, String.valueOf(snapshot.version()))
+                .build();
+    }
+}
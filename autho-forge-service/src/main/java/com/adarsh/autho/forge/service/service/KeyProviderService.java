@@ -1,20 +1,16 @@
 package com.adarsh.autho.forge.service.service;
 
 import com.adarsh.autho.forge.service.config.KeyProperties;
+import com.adarsh.autho.forge.service.config.TokenSignerProperties;
+import com.adarsh.autho.forge.service.key.KeyRing;
+import com.adarsh.autho.forge.service.key.KeyRingChangedEvent;
+import com.adarsh.autho.forge.service.key.PemPrivateKeys;
+import com.adarsh.autho.forge.service.key.SigningKey;
+import com.adarsh.autho.forge.service.signing.RemoteTokenSigner;
 import jakarta.annotation.PostConstruct;
-import org.bouncycastle.asn1.pkcs.PrivateKeyInfo;
-import org.bouncycastle.openssl.PEMEncryptedKeyPair;
-import org.bouncycastle.openssl.PEMKeyPair;
-import org.bouncycastle.openssl.PEMParser;
-import org.bouncycastle.openssl.jcajce.JcaPEMKeyConverter;
-import org.bouncycastle.openssl.jcajce.JceOpenSSLPKCS8DecryptorProviderBuilder;
-import org.bouncycastle.openssl.jcajce.JcePEMDecryptorProviderBuilder;
-import org.bouncycastle.operator.InputDecryptorProvider;
-import org.bouncycastle.operator.OperatorCreationException;
-import org.bouncycastle.pkcs.PKCS8EncryptedPrivateKeyInfo;
-import org.bouncycastle.pkcs.PKCSException;
 import org.springframework.stereotype.Service;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.ResourceLoader;
 import org.springframework.util.FileCopyUtils;
@@ -22,11 +18,11 @@ import org.springframework.util.FileCopyUtils;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.Reader;
-import java.io.StringReader;
 import java.nio.charset.StandardCharsets;
-import java.security.PrivateKey;
-import java.security.Security;
 import java.security.interfaces.RSAPrivateKey;
+import java.time.Instant;
+import java.util.List;
+import java.util.function.UnaryOperator;
 
 @Service
 public class KeyProviderService {
@@ -34,17 +30,29 @@ public class KeyProviderService {
     @Autowired
     private KeyProperties keyProperties;
 
+    @Autowired
+    private TokenSignerProperties signerProperties;
+
     @Autowired
     private ResourceLoader resourceLoader;
 
-    private RSAPrivateKey privateKey;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    // present with autho.forge.signer.type=remote, the private key then never enters this JVM
+    @Autowired(required = false)
+    private RemoteTokenSigner remoteSigner;
+
+    // readers (token signing, JWKS) only do a volatile read, writers replace the whole snapshot
+    private volatile KeyRing keyRing;
 
     @PostConstruct
     public void loadKey() {
+        if (remoteSigner != null) {
+            loadRemoteKey();
+            return;
+        }
         try {
-            // Ensure BouncyCastle is registered
-            Security.addProvider(new org.bouncycastle.jce.provider.BouncyCastleProvider());
-
             String pemContent;
             
             if (keyProperties.getContent() != null && !keyProperties.getContent().isBlank()) {
@@ -73,63 +81,29 @@ public class KeyProviderService {
                 }
             }
 
-            this.privateKey = parsePrivateKey(pemContent);
-            if (this.privateKey == null) {
+            // JDK-only for plain keys, BouncyCastle is loaded only for encrypted ones
+            RSAPrivateKey privateKey = PemPrivateKeys.parse(pemContent, this::getPassphraseChars);
+            if (privateKey == null) {
                 throw new IllegalStateException("Failed to parse RSA private key (content or path)");
             }
 
-            System.out.println("✔ RSA private key loaded successfully (kid=" + keyProperties.getKid() + ")");
+            Instant now = Instant.now();
+            SigningKey configured = SigningKey.create(keyProperties.getKid(), privateKey, derivePublicKey(privateKey), now);
+            this.keyRing = KeyRing.initial(configured.activate(now));
 
-        } catch (IOException | OperatorCreationException e) {
+            System.out.println("✔ RSA private key loaded successfully (kid=" + getKeyId() + ")");
+
+        } catch (IOException e) {
             throw new IllegalStateException("Failed to load RSA private key", e);
         }
     }
 
-    private RSAPrivateKey parsePrivateKey(String pemContent)
-            throws IOException, OperatorCreationException {
-
-        try (PEMParser pemParser = new PEMParser(new StringReader(pemContent))) {
-            Object parsed = pemParser.readObject();
-
-            JcaPEMKeyConverter converter = new JcaPEMKeyConverter().setProvider("BC");
-
-            if (parsed instanceof PrivateKeyInfo privateKeyInfo) {
-                // Unencrypted PKCS#8
-                PrivateKey pk = converter.getPrivateKey(privateKeyInfo);
-                return (RSAPrivateKey) pk;
-
-            } else if (parsed instanceof PEMKeyPair keyPair) {
-                // Unencrypted PKCS#1 key pair
-                PrivateKeyInfo privateKeyInfo = keyPair.getPrivateKeyInfo();
-                PrivateKey pk = converter.getPrivateKey(privateKeyInfo);
-                return (RSAPrivateKey) pk;
-
-            } else if (parsed instanceof PKCS8EncryptedPrivateKeyInfo encInfo) {
-                // Encrypted PKCS#8
-                char[] passphrase = getPassphraseChars();
-                InputDecryptorProvider decryptorProvider =
-                        new JceOpenSSLPKCS8DecryptorProviderBuilder()
-                                .build(passphrase);
-
-                PrivateKeyInfo privateKeyInfo = encInfo.decryptPrivateKeyInfo(decryptorProvider);
-                PrivateKey pk = converter.getPrivateKey(privateKeyInfo);
-                return (RSAPrivateKey) pk;
-
-            } else if (parsed instanceof PEMEncryptedKeyPair encKeyPair) {
-                // Legacy OpenSSL encrypted key pair
-                char[] passphrase = getPassphraseChars();
-                var decProv = new JcePEMDecryptorProviderBuilder().build(passphrase);
-                PEMKeyPair keyPair = ((PEMEncryptedKeyPair) parsed).decryptKeyPair(decProv);
-                PrivateKeyInfo privateKeyInfo = keyPair.getPrivateKeyInfo();
-                PrivateKey pk = converter.getPrivateKey(privateKeyInfo);
-                return (RSAPrivateKey) pk;
-
-            } else {
-                throw new IllegalStateException("Unsupported key format in PEM");
-            }
-        } catch (PKCSException e) {
-            throw new RuntimeException(e);
-        }
+    private void loadRemoteKey() {
+        String kid = signerProperties.getRemote().getKeyId();
+        Instant now = Instant.now();
+        SigningKey remote = SigningKey.publicOnly(kid, remoteSigner.fetchPublicKey(kid), now);
+        this.keyRing = KeyRing.initial(remote.activate(now));
+        System.out.println("✔ Signing with remote key (kid=" + kid + ") at " + signerProperties.getRemote().getUrl());
     }
 
     private char[] getPassphraseChars() {
@@ -140,17 +114,81 @@ public class KeyProviderService {
         return passphrase.toCharArray();
     }
 
-    public RSAPrivateKey getPrivateKey() {
-        if (privateKey == null) {
-            throw new IllegalStateException("Private key not initialized");
+    public KeyRing getKeyRing() {
+        KeyRing current = keyRing;
+        if (current == null) {
+            throw new IllegalStateException("Key ring not initialized");
         }
-        return privateKey;
+        return current;
     }
+
+    /**
+     * The key new tokens are signed with.
+     */
+    public SigningKey getActiveKey() {
+        return getKeyRing().active();
+    }
+
+    /**
+     * Null with the remote signer.
+     */
+    public RSAPrivateKey getPrivateKey() {
+        return getActiveKey().getPrivateKey();
+    }
+
     public String getKeyId() {
-        return keyProperties.getKid();
+        return getActiveKey().getKid();
     }
 
     public java.security.interfaces.RSAPublicKey getPublicKey() {
+        return getActiveKey().getPublicKey();
+    }
+
+    // -------------- keyring changes (rare, serialized) -----------------
+
+    public void addUpcomingKey(SigningKey key) {
+        update(ring -> ring.withUpcoming(key));
+        System.out.println("🔑 Published upcoming key (kid=" + key.getKid() + ")");
+    }
+
+    /**
+     * Makes the oldest upcoming key the active one and keeps the old active key
+     * published until {@code retireUntil}.
+     */
+    public void promoteUpcomingKey(Instant now, Instant retireUntil) {
+        update(ring -> {
+            if (ring.upcoming().isEmpty()) {
+                return ring;
+            }
+            SigningKey next = ring.upcoming().get(0);
+            return ring.promote(next.activate(now), ring.active().retire(retireUntil));
+        });
+        System.out.println("🔄 Rotated signing key (kid=" + getKeyId() + ")");
+    }
+
+    public void dropRetiredKeys(Instant now) {
+        update(ring -> {
+            List<SigningKey> stillRetired = ring.retired().stream()
+                    .filter(k -> k.getRetireAt().isAfter(now))
+                    .toList();
+            return stillRetired.size() == ring.retired().size() ? ring : ring.withRetired(stillRetired);
+        });
+    }
+
+    private void update(UnaryOperator<KeyRing> change) {
+        KeyRing changed;
+        synchronized (this) {
+            KeyRing current = getKeyRing();
+            changed = change.apply(current);
+            if (changed == current) {
+                return;
+            }
+            this.keyRing = changed;
+        }
+        eventPublisher.publishEvent(new KeyRingChangedEvent(changed));
+    }
+
+    private java.security.interfaces.RSAPublicKey derivePublicKey(RSAPrivateKey privateKey) {
         if (privateKey instanceof java.security.interfaces.RSAPrivateCrtKey) {
             java.security.interfaces.RSAPrivateCrtKey crtKey = (java.security.interfaces.RSAPrivateCrtKey) privateKey;
             try {
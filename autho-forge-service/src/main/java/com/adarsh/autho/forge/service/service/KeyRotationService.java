@@ -0,0 +1,107 @@
+package com.adarsh.autho.forge.service.service;
+
+import com.adarsh.autho.forge.service.config.KeyRotationProperties;
+import com.adarsh.autho.forge.service.key.KeyRing;
+import com.adarsh.autho.forge.service.key.SigningKey;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Drives the keyring lifecycle on a schedule:
+ * pre-generates the next key pair off the request path, publishes it as upcoming,
+ * promotes it once the active key is due and drops retired keys after their overlap window.
+ */
+@Service
+@ConditionalOnProperty(prefix = "autho.forge.key.rotation", name = "enabled", havingValue = "true")
+public class KeyRotationService {
+
+    private static final Logger log = LoggerFactory.getLogger(KeyRotationService.class);
+
+    @Autowired
+    private KeyProviderService keyProviderService;
+
+    @Autowired
+    private KeyRotationProperties properties;
+
+    // RSA key generation takes tens to hundreds of ms, keep it off scheduler and request threads
+    private final ExecutorService keyGenerator = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "autho-forge-keygen");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile CompletableFuture<Void> pendingGeneration;
+
+    @PostConstruct
+    public void checkSingleInstance() {
+        // generated keys are not shared, replicas would drift apart
+        if (!properties.isSingleInstance()) {
+            throw new IllegalStateException(
+                    "autho.forge.key.rotation.enabled=true keeps keys in memory and needs autho.forge.key.rotation.single-instance=true");
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${autho.forge.key.rotation.check-interval:PT1M}")
+    public void rotateIfDue() {
+        Instant now = Instant.now();
+        keyProviderService.dropRetiredKeys(now);
+
+        KeyRing ring = keyProviderService.getKeyRing();
+        if (ring.upcoming().isEmpty()) {
+            generateUpcomingKey();
+            return;
+        }
+
+        boolean activeIsDue = !ring.active().getActivatedAt().plus(properties.getInterval()).isAfter(now);
+        boolean upcomingIsKnown = !ring.upcoming().get(0).getPublishedAt().plus(properties.getPublishAhead()).isAfter(now);
+        if (activeIsDue && upcomingIsKnown) {
+            keyProviderService.promoteUpcomingKey(now, now.plus(properties.getRetireAfter()));
+        }
+    }
+
+    private void generateUpcomingKey() {
+        CompletableFuture<Void> pending = pendingGeneration;
+        if (pending != null && !pending.isDone()) {
+            return;
+        }
+        pendingGeneration = CompletableFuture
+                .supplyAsync(this::generateKey, keyGenerator)
+                .thenAccept(keyProviderService::addUpcomingKey)
+                .exceptionally(e -> {
+                    log.error("Failed to generate upcoming signing key, will retry on next check", e);
+                    return null;
+                });
+    }
+
+    private SigningKey generateKey() {
+        try {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+            generator.initialize(properties.getKeySize());
+            KeyPair pair = generator.generateKeyPair();
+            return SigningKey.create(null, (RSAPrivateKey) pair.getPrivate(), (RSAPublicKey) pair.getPublic(), Instant.now());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("RSA not available", e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        keyGenerator.shutdownNow();
+    }
+}
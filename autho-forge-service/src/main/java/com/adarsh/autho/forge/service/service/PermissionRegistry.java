@@ -0,0 +1,94 @@
+package com.adarsh.autho.forge.service.service;
+
+import com.adarsh.autho.forge.service.config.PermissionProperties;
+import com.adarsh.autho.forge.service.dto.PublishedDocument;
+import com.adarsh.autho.forge.service.enums.Roles;
+import com.nimbusds.jose.util.JSONObjectUtils;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.BitSet;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Versioned permission registry. Each permission name owns one bit, a role's permissions
+ * are encoded once at startup as a little-endian bitset in base64url, e.g. 40 permissions
+ * take 7 characters in the token instead of a list of names.
+ * The registry itself is published so validators can map bits back to names.
+ */
+@Service
+public class PermissionRegistry {
+
+    public static final String PATH = "/.well-known/permissions.json";
+    public static final String PERMISSIONS_CLAIM = "perms";
+    public static final String VERSION_CLAIM = "perms_ver";
+
+    private static final String ALL = "*";
+
+    @Autowired
+    private PermissionProperties properties;
+
+    private final Map<Roles, String> encodedByRole = new EnumMap<>(Roles.class);
+    private PublishedDocument document;
+
+    @PostConstruct
+    public void init() {
+        List<String> names = properties.getNames();
+        Map<String, Integer> index = new HashMap<>();
+        for (int bit = 0; bit < names.size(); bit++) {
+            if (index.putIfAbsent(names.get(bit), bit) != null) {
+                throw new IllegalStateException("Duplicate permission in autho.forge.permissions.names: " + names.get(bit));
+            }
+        }
+
+        for (Roles role : Roles.values()) {
+            BitSet bits = new BitSet(names.size());
+            for (String permission : properties.getRoles().getOrDefault(role, List.of())) {
+                if (ALL.equals(permission)) {
+                    bits.set(0, names.size());
+                    continue;
+                }
+                Integer bit = index.get(permission);
+                if (bit == null) {
+                    throw new IllegalStateException("Role " + role + " grants unregistered permission: " + permission);
+                }
+                bits.set(bit);
+            }
+            encodedByRole.put(role, Base64.getUrlEncoder().withoutPadding().encodeToString(bits.toByteArray()));
+        }
+
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("version", properties.getVersion());
+        json.put("permissions", names);
+        byte[] body = JSONObjectUtils.toJSONString(json).getBytes(StandardCharsets.UTF_8);
+        // changes need a restart, so a version-derived ETag is stable for the lifetime of the process
+        this.document = new PublishedDocument(body, "\"v" + properties.getVersion() + "-" + names.size() + "\"", Duration.ofMinutes(5));
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    public int getVersion() {
+        return properties.getVersion();
+    }
+
+    /**
+     * Permissions of a role as the value of the {@value #PERMISSIONS_CLAIM} claim.
+     */
+    public String encode(Roles role) {
+        return encodedByRole.get(role);
+    }
+
+    public PublishedDocument getDocument() {
+        return document;
+    }
+}
@@ -0,0 +1,98 @@
+package com.adarsh.autho.forge.service.service;
+
+import com.adarsh.autho.forge.service.config.ReferenceTokenProperties;
+import com.adarsh.autho.forge.service.dto.IntrospectionResponse;
+import com.adarsh.autho.forge.service.repository.user.UserClaims;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Issues, introspects and revokes opaque reference tokens.
+ * A reference token is 32 characters on the wire instead of a ~700 byte JWT,
+ * and revoking it takes effect on the next introspection.
+ */
+@Service
+public class ReferenceTokenService {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    @Autowired
+    private ReferenceTokenStore store;
+
+    @Autowired
+    private ReferenceTokenProperties properties;
+
+    @Value("${autho.forge.iss}")
+    private String issuer;
+
+    @PostConstruct
+    public void checkSecret() {
+        String secret = properties.getIntrospectionSecret();
+        if (properties.isEnabled() && (secret == null || secret.isBlank())) {
+            throw new IllegalStateException(
+                    "autho.forge.reference-token.enabled=true needs autho.forge.reference-token.introspection-secret");
+        }
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    public long getTtlSeconds() {
+        return properties.getTtl().toSeconds();
+    }
+
+    public String issue(UserClaims user) {
+        byte[] bytes = new byte[24]; // 192-bit, 32 chars base64url
+        RANDOM.nextBytes(bytes);
+        String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        Instant now = Instant.now();
+        store.put(hash(rawToken), new ReferenceTokenStore.Entry(
+                user.id(), user.username(), user.role(), now, now.plus(properties.getTtl()), false, now));
+        return rawToken;
+    }
+
+    public IntrospectionResponse introspect(String rawToken) {
+        if (rawToken == null || rawToken.isBlank()) {
+            return IntrospectionResponse.inactive();
+        }
+        return store.get(hash(rawToken))
+                .filter(entry -> entry.isActive(Instant.now()))
+                .map(entry -> IntrospectionResponse.builder()
+                        .active(true)
+                        .sub(String.valueOf(entry.userId()))
+                        .username(entry.username())
+                        .roles(entry.role().name())
+                        .iss(issuer)
+                        .iat(entry.issuedAt().getEpochSecond())
+                        .exp(entry.expiresAt().getEpochSecond())
+                        .tokenType("Bearer")
+                        .build())
+                .orElseGet(IntrospectionResponse::inactive);
+    }
+
+    public void revoke(String rawToken) {
+        if (rawToken != null && !rawToken.isBlank()) {
+            store.revoke(hash(rawToken));
+        }
+    }
+
+    private String hash(String rawToken) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(rawToken.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package com.adarsh.autho.forge.service.service;
+
+import com.adarsh.autho.forge.service.config.ReferenceTokenProperties;
+import com.adarsh.autho.forge.service.entity.ReferenceToken;
+import com.adarsh.autho.forge.service.entity.ReferenceTokenRevocation;
+import com.adarsh.autho.forge.service.enums.Roles;
+import com.adarsh.autho.forge.service.repository.reference.ReferenceTokenRepository;
+import com.adarsh.autho.forge.service.repository.reference.ReferenceTokenRevocationRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Sharded in-memory store for reference tokens with JPA write-behind.
+ * Lookups are served from memory; inserts are batched by the flusher. Revocations are
+ * written through as tombstones in their own table, so they survive a restart and a
+ * token insert still buffered on another instance cannot clear them.
+ */
+@Service
+public class ReferenceTokenStore {
+
+    private static final Logger log = LoggerFactory.getLogger(ReferenceTokenStore.class);
+
+    /**
+     * In-memory view of one token, keyed by its hash.
+     *
+     * @param checkedAt when the revocation flag was last known to match the database
+     */
+    public record Entry(Long userId, String username, Roles role, Instant issuedAt, Instant expiresAt, boolean revoked,
+                        Instant checkedAt) {
+
+        Entry revokedCopy() {
+            return new Entry(userId, username, role, issuedAt, expiresAt, true, checkedAt);
+        }
+
+        Entry checkedCopy(boolean revokedInDatabase, Instant now) {
+            return new Entry(userId, username, role, issuedAt, expiresAt, revoked || revokedInDatabase, now);
+        }
+
+        public boolean isActive(Instant now) {
+            return !revoked && expiresAt.isAfter(now);
+        }
+    }
+
+    private record PendingInsert(String tokenHash, Entry entry) {
+    }
+
+    private final ReferenceTokenProperties properties;
+    private final ReferenceTokenRepository repository;
+    private final ReferenceTokenRevocationRepository revocationRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Map<String, Entry>[] shards;
+    private final Queue<PendingInsert> pendingInserts = new ConcurrentLinkedQueue<>();
+
+    @Autowired
+    @SuppressWarnings("unchecked")
+    public ReferenceTokenStore(ReferenceTokenProperties properties,
+                               ReferenceTokenRepository repository,
+                               ReferenceTokenRevocationRepository revocationRepository,
+                               TransactionTemplate transactionTemplate) {
+        this.properties = properties;
+        this.repository = repository;
+        this.revocationRepository = revocationRepository;
+        this.transactionTemplate = transactionTemplate;
+
+        this.shards = new Map[Math.max(1, properties.getShards())];
+        for (int i = 0; i < shards.length; i++) {
+            shards[i] = new ConcurrentHashMap<>();
+        }
+    }
+
+    public void put(String tokenHash, Entry entry) {
+        shard(tokenHash).put(tokenHash, entry);
+        pendingInserts.add(new PendingInsert(tokenHash, entry));
+    }
+
+    /**
+     * Memory first; falls back to the database for tokens issued before a restart.
+     * Active entries older than the revocation check interval re-read their revocation flag,
+     * other instances may have revoked the token.
+     */
+    public Optional<Entry> get(String tokenHash) {
+        Entry entry = shard(tokenHash).get(tokenHash);
+        if (entry != null) {
+            return Optional.of(recheckIfStale(tokenHash, entry));
+        }
+        return repository.findById(tokenHash)
+                .map(token -> toEntry(token, revocationRepository.existsById(tokenHash)))
+                .map(loaded -> {
+                    shard(tokenHash).putIfAbsent(tokenHash, loaded);
+                    return loaded;
+                });
+    }
+
+    private Entry recheckIfStale(String tokenHash, Entry entry) {
+        Instant now = Instant.now();
+        if (entry.revoked() || entry.checkedAt().plus(properties.getRevocationCheckInterval()).isAfter(now)) {
+            return entry;
+        }
+        boolean revoked = revocationRepository.existsById(tokenHash);
+        Entry checked = entry.checkedCopy(revoked, now);
+        shard(tokenHash).replace(tokenHash, entry, checked);
+        return checked;
+    }
+
+    /**
+     * Revokes in memory and writes the tombstone before returning. The token may be unknown
+     * here (issued on another instance, insert still buffered there); the tombstone then
+     * lives as long as any token issued now could.
+     */
+    public void revoke(String tokenHash) {
+        Instant now = Instant.now();
+        Entry entry = shard(tokenHash).computeIfPresent(tokenHash, (hash, current) -> current.revokedCopy());
+        Instant expiresAt = entry != null ? entry.expiresAt() : now.plus(properties.getTtl());
+        ReferenceTokenRevocation tombstone = ReferenceTokenRevocation.builder()
+                .tokenHash(tokenHash)
+                .revokedAt(LocalDateTime.ofInstant(now, ZoneId.systemDefault()))
+                .expiresAt(LocalDateTime.ofInstant(expiresAt, ZoneId.systemDefault()))
+                .build();
+        try {
+            transactionTemplate.executeWithoutResult(status -> revocationRepository.save(tombstone));
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Reference token already revoked");
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${autho.forge.reference-token.write-behind-interval:PT1S}")
+    public void flush() {
+        int batchSize = properties.getWriteBehindBatchSize();
+        while (!pendingInserts.isEmpty()) {
+            List<PendingInsert> batch = new ArrayList<>(batchSize);
+            PendingInsert item;
+            while (batch.size() < batchSize && (item = pendingInserts.poll()) != null) {
+                batch.add(item);
+            }
+            try {
+                transactionTemplate.executeWithoutResult(
+                        status -> repository.saveAll(batch.stream().map(this::toEntity).toList()));
+            } catch (RuntimeException e) {
+                // put the batch back and retry on the next tick rather than losing the rows
+                pendingInserts.addAll(batch);
+                log.error("Failed to write {} reference tokens, retrying later", batch.size(), e);
+                return;
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "PT1M", initialDelayString = "PT1M")
+    public void evictExpired() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        Instant now = Instant.now();
+        for (Map<String, Entry> shard : shards) {
+            shard.values().removeIf(entry -> !entry.expiresAt().isAfter(now));
+        }
+        LocalDateTime cutoff = LocalDateTime.now();
+        Integer deleted = transactionTemplate.execute(status ->
+                repository.deleteExpired(cutoff) + revocationRepository.deleteExpired(cutoff));
+        if (deleted != null && deleted > 0) {
+            log.debug("Deleted {} expired reference tokens and revocations", deleted);
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private Map<String, Entry> shard(String tokenHash) {
+        return shards[Math.floorMod(tokenHash.hashCode(), shards.length)];
+    }
+
+    private ReferenceToken toEntity(PendingInsert pending) {
+        Entry entry = pending.entry();
+        return ReferenceToken.builder()
+                .tokenHash(pending.tokenHash())
+                .userId(entry.userId())
+                .username(entry.username())
+                .role(entry.role())
+                .issuedAt(LocalDateTime.ofInstant(entry.issuedAt(), ZoneId.systemDefault()))
+                .expiresAt(LocalDateTime.ofInstant(entry.expiresAt(), ZoneId.systemDefault()))
+                .revoked(entry.revoked())
+                .build();
+    }
+
+    private Entry toEntry(ReferenceToken token, boolean revoked) {
+        return new Entry(token.getUserId(), token.getUsername(), token.getRole(),
+                token.getIssuedAt().atZone(ZoneId.systemDefault()).toInstant(),
+                token.getExpiresAt().atZone(ZoneId.systemDefault()).toInstant(),
+                token.isRevoked() || revoked,
+                Instant.now());
+    }
+}
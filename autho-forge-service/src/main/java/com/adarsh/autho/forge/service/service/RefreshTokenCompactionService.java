@@ -0,0 +1,108 @@
+package com.adarsh.autho.forge.service.service;
+
+import com.adarsh.autho.forge.service.config.RefreshTokenCompactionProperties;
+import com.adarsh.autho.forge.service.repository.token.RefreshTokenRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.function.IntSupplier;
+
+/**
+ * Purges expired and long-revoked refresh tokens in small chunks.
+ * Each chunk runs in its own short transaction and chunks are spaced out,
+ * so row locks are held briefly and login traffic keeps priority.
+ */
+@Service
+// only the JPA store keeps rows around, the in-memory store evicts on its own
+@ConditionalOnExpression("${autho.forge.refresh-token.compaction.enabled:true} and '${autho.forge.refresh-token.store.type:jpa}' == 'jpa'")
+public class RefreshTokenCompactionService {
+
+    private static final Logger log = LoggerFactory.getLogger(RefreshTokenCompactionService.class);
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final RefreshTokenCompactionProperties properties;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Counter expiredPurged;
+    private final Counter revokedPurged;
+    private final Timer passTimer;
+
+    @Autowired
+    public RefreshTokenCompactionService(RefreshTokenRepository refreshTokenRepository,
+                                         RefreshTokenCompactionProperties properties,
+                                         TransactionTemplate transactionTemplate,
+                                         MeterRegistry meterRegistry) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.properties = properties;
+        this.transactionTemplate = transactionTemplate;
+
+        this.expiredPurged = Counter.builder("autho.forge.refresh_tokens.purged")
+                .description("Refresh token rows deleted by compaction")
+                .tag("reason", "expired")
+                .register(meterRegistry);
+        this.revokedPurged = Counter.builder("autho.forge.refresh_tokens.purged")
+                .description("Refresh token rows deleted by compaction")
+                .tag("reason", "revoked")
+                .register(meterRegistry);
+        this.passTimer = Timer.builder("autho.forge.refresh_tokens.compaction")
+                .description("Duration of a refresh token compaction pass")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(
+            initialDelayString = "${autho.forge.refresh-token.compaction.interval:PT10M}",
+            fixedDelayString = "${autho.forge.refresh-token.compaction.interval:PT10M}")
+    public void compact() {
+        passTimer.record(() -> {
+            LocalDateTime now = LocalDateTime.now();
+            LocalDateTime revokedBefore = now.minus(properties.getRevokedRetention());
+            int batchSize = properties.getBatchSize();
+
+            long expired = purge(() -> refreshTokenRepository.deleteExpiredBatch(now, batchSize), expiredPurged);
+            long revoked = purge(() -> refreshTokenRepository.deleteRevokedBatch(revokedBefore, batchSize), revokedPurged);
+
+            if (expired + revoked > 0) {
+                log.info("Refresh token compaction purged {} expired and {} revoked rows", expired, revoked);
+            }
+        });
+    }
+
+    /**
+     * Runs one delete batch per transaction until a batch comes back short
+     * or the per-pass budget is spent.
+     */
+    private long purge(IntSupplier deleteBatch, Counter counter) {
+        long total = 0;
+        for (int batch = 0; batch < properties.getMaxBatchesPerPass(); batch++) {
+            Integer deleted = transactionTemplate.execute(status -> deleteBatch.getAsInt());
+            int count = deleted != null ? deleted : 0;
+            counter.increment(count);
+            total += count;
+
+            if (count < properties.getBatchSize() || !pause()) {
+                break;
+            }
+        }
+        return total;
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(properties.getPauseBetweenBatches().toMillis());
+            return true;
+        } catch (InterruptedException e) {
+            // shutting down, leave the rest for the next pass
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -2,11 +2,16 @@ package com.adarsh.autho.forge.service.service;
 
 import com.adarsh.autho.forge.service.dto.RefreshTokenDTO;
 import com.adarsh.autho.forge.service.entity.RefreshToken;
-import com.adarsh.autho.forge.service.repository.token.RefreshTokenRepository;
+import com.adarsh.autho.forge.service.observation.RefreshRotationEvent;
+import com.adarsh.autho.forge.service.repository.token.RefreshTokenStore;
+import com.adarsh.autho.forge.service.repository.token.RefreshTokenView;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
 import java.time.LocalDateTime;
 import java.util.Base64;
@@ -15,114 +20,175 @@ import java.util.Optional;
 @Service
 public class RefreshTokenService {
 
-    private final BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(12);
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    // only verifies tokens stored before the switch to SHA-256, nothing is hashed with it anymore
+    private final BCryptPasswordEncoder legacyBcrypt = new BCryptPasswordEncoder(12);
 
     @Autowired
-    private RefreshTokenRepository refreshTokenRepository;
+    private RefreshTokenStore refreshTokenStore;
 
     /**
      * Generates a new refresh token for the user.
-     * Saves hashed token in DB.
-     * Returns raw token + entity (raw token transient).
+     * Saves hashed token in the store.
+     * Returns raw token (never stored) + expiry.
      */
     public RefreshTokenDTO generateAndStore(Long userId) {
 
         // 1. Generate raw refresh token
         String rawToken = generateRawToken();
 
-        // 2. Hash it before storing
-        String hashed = bcrypt.encode(rawToken);
-
-        LocalDateTime issuedAt = LocalDateTime.now();
-        LocalDateTime expiresAt = LocalDateTime.now().plusDays(30);
-
-        // 3. Build entity
-        RefreshToken entity = RefreshToken.builder()
-                .userId(userId)
-                .refreshTokenHash(hashed)
-                .issuedAt(issuedAt)
-                .expiresAt(expiresAt)
-                .revoked(false)
-                .build();
-
-        // 4. Save hashed token
-        refreshTokenRepository.save(entity);
+        // 2. Save hashed token
+        RefreshToken entity = newEntity(userId, rawToken);
+        refreshTokenStore.save(entity);
 
-
-        return RefreshTokenDTO.builder()
-                .rawToken(rawToken)
-                .expiresAt(expiresAt)
-                .build();
+        return toDto(rawToken, entity);
     }
 
     /**
      * Validates refresh token for the user.
      * Does NOT auto-renew expired tokens (unsafe).
-     * Deletes expired tokens.
+     * Revokes expired tokens.
      */
     public boolean validate(Long userId, String rawToken) {
-
-        Optional<RefreshToken> storedOpt =
-                refreshTokenRepository.findByUserIdAndRevokedFalse(userId);
-
-        if (storedOpt.isEmpty()) {
-            return false;
-        }
-
-        RefreshToken stored = storedOpt.get();
-
-        // Check expiration
-        if (stored.getExpiresAt().isBefore(LocalDateTime.now())) {
-            stored.setRevoked(true);
-            refreshTokenRepository.save(stored);
-            return false;
-        }
-
-        // Match hash
-        return bcrypt.matches(rawToken, stored.getRefreshTokenHash());
+        return findActive(userId, rawToken).isPresent();
     }
 
     /**
      * Called after successful refresh request.
      * Rotates (replaces) the old token with a new one.
+     * Also accepts tokens still stored as BCrypt hashes, their successor is stored as SHA-256.
      */
     public RefreshTokenDTO rotateToken(Long userId, String oldRawToken) {
+        return rotate(findActive(userId, oldRawToken));
+    }
 
-        Optional<RefreshToken> storedOpt =
-                refreshTokenRepository.findByUserIdAndRevokedFalse(userId);
+    /**
+     * Rotates a refresh token without knowing the user up front.
+     * Returns null when the token is unknown, expired, revoked, or was
+     * rotated concurrently by another request (only one rotation wins).
+     */
+    public RefreshTokenDTO rotateToken(String oldRawToken) {
+        return rotate(findActive(oldRawToken));
+    }
 
+    private RefreshTokenDTO rotate(Optional<RefreshTokenView> storedOpt) {
+        RefreshRotationEvent event = new RefreshRotationEvent();
+        event.begin();
         if (storedOpt.isEmpty()) {
+            recordRotation(event, "NOT_ACTIVE", 0);
             return null;
         }
 
-        RefreshToken stored = storedOpt.get();
+        RefreshTokenView stored = storedOpt.get();
 
-        // Reject invalid
-        if (!bcrypt.matches(oldRawToken, stored.getRefreshTokenHash())) {
+        // Revoke the old token and store the new one together, losing a concurrent race means no new token
+        String rawToken = generateRawToken();
+        RefreshToken successor = newEntity(stored.userId(), rawToken);
+        if (!refreshTokenStore.rotate(stored.refreshTokenHash(), LocalDateTime.now(), successor)) {
+            recordRotation(event, "LOST_RACE", stored.userId());
             return null;
         }
 
-        // Mark old token as revoked
-        stored.setRevoked(true);
-        refreshTokenRepository.save(stored);
-
-        // Generate & return new one
-        return generateAndStore(userId);
+        recordRotation(event, "ROTATED", stored.userId());
+        return toDto(rawToken, successor);
     }
 
     /**
-     * Deletes all active tokens for a user (logout).
+     * Revokes all active tokens for a user (logout).
      */
     public void revokeAll(Long userId) {
-        refreshTokenRepository.revokeAllTokens(userId);
+        refreshTokenStore.revokeAllForUser(userId, LocalDateTime.now());
     }
 
     // -------------- helpers -----------------
 
+    private RefreshToken newEntity(Long userId, String rawToken) {
+        LocalDateTime issuedAt = LocalDateTime.now();
+        // The token is 256 bits of randomness, so a fast hash is safe here
+        // and doubles as the lookup key (unlike BCrypt)
+        return RefreshToken.builder()
+                .userId(userId)
+                .refreshTokenHash(hash(rawToken))
+                .issuedAt(issuedAt)
+                .expiresAt(issuedAt.plusDays(30))
+                .revoked(false)
+                .build();
+    }
+
+    private static RefreshTokenDTO toDto(String rawToken, RefreshToken entity) {
+        return RefreshTokenDTO.builder()
+                .rawToken(rawToken)
+                .userId(entity.getUserId())
+                .expiresAt(entity.getExpiresAt())
+                .build();
+    }
+
+    private static void recordRotation(RefreshRotationEvent event, String outcome, long userId) {
+        if (event.shouldCommit()) {
+            event.outcome = outcome;
+            event.userId = userId;
+            event.commit();
+        }
+    }
+
+    private Optional<RefreshTokenView> findActive(String rawToken) {
+        if (rawToken == null || rawToken.isBlank()) {
+            return Optional.empty();
+        }
+
+        return checkActive(refreshTokenStore.findByTokenHash(hash(rawToken)));
+    }
+
+    /**
+     * Like {@link #findActive(String)} for a known user. Falls back to the user's tokens still
+     * stored as BCrypt hashes, those cannot be found by hash. Login only hands out refresh
+     * tokens since the switch to SHA-256, so older tokens always come with their user.
+     */
+    private Optional<RefreshTokenView> findActive(Long userId, String rawToken) {
+        Optional<RefreshTokenView> stored = findActive(rawToken)
+                .filter(view -> view.userId().equals(userId));
+        if (stored.isPresent() || rawToken == null || rawToken.isBlank()) {
+            return stored;
+        }
+        return checkActive(refreshTokenStore.findActiveByUserId(userId).stream()
+                .filter(view -> isLegacyHash(view.refreshTokenHash()))
+                .filter(view -> legacyBcrypt.matches(rawToken, view.refreshTokenHash()))
+                .findFirst());
+    }
+
+    private Optional<RefreshTokenView> checkActive(Optional<RefreshTokenView> storedOpt) {
+        if (storedOpt.isEmpty() || storedOpt.get().revoked()) {
+            return Optional.empty();
+        }
+
+        RefreshTokenView stored = storedOpt.get();
+
+        // Check expiration
+        if (stored.expiresAt().isBefore(LocalDateTime.now())) {
+            refreshTokenStore.revokeIfActive(stored.refreshTokenHash(), LocalDateTime.now());
+            return Optional.empty();
+        }
+
+        return storedOpt;
+    }
+
+    private static boolean isLegacyHash(String storedHash) {
+        return storedHash.startsWith("$2");
+    }
+
     private String generateRawToken() {
-        SecureRandom random = new SecureRandom();
         byte[] bytes = new byte[32]; // 256-bit secure random
-        random.nextBytes(bytes);
+        RANDOM.nextBytes(bytes);
         return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
     }
+
+    private String hash(String rawToken) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(rawToken.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
 }
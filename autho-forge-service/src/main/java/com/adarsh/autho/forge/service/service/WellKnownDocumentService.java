@@ -0,0 +1,165 @@
+package com.adarsh.autho.forge.service.service;
+
+import com.adarsh.autho.forge.service.config.KeyRotationProperties;
+import com.adarsh.autho.forge.service.config.ReferenceTokenProperties;
+import com.adarsh.autho.forge.service.dto.PublishedDocument;
+import com.adarsh.autho.forge.service.key.KeyRing;
+import com.adarsh.autho.forge.service.key.KeyRingChangedEvent;
+import com.adarsh.autho.forge.service.key.SigningKey;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.util.JSONObjectUtils;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds the JWKS and OpenID discovery documents once per key change.
+ * Request threads only read the published snapshot, so serving them costs
+ * a volatile read plus writing the prebuilt bytes.
+ */
+@Service
+public class WellKnownDocumentService {
+
+    public static final String JWKS_PATH = "/.well-known/jwks.json";
+
+    @Autowired
+    private KeyProviderService keyProviderService;
+
+    @Autowired
+    private KeyRotationProperties rotationProperties;
+
+    @Autowired
+    private ReferenceTokenProperties referenceTokenProperties;
+
+    @Autowired
+    private PermissionRegistry permissionRegistry;
+
+    @Autowired
+    private KeyChangeStream keyChangeStream;
+
+    @Value("${autho.forge.iss}")
+    private String issuer;
+
+    @Value("${autho.forge.discovery.base-url:${autho.forge.iss}}")
+    private String baseUrl;
+
+    @Value("${autho.forge.jwks.max-age:PT5M}")
+    private Duration jwksMaxAge;
+
+    @Value("${autho.forge.discovery.max-age:PT1H}")
+    private Duration discoveryMaxAge;
+
+    private volatile JWKSet jwkSet;
+    private volatile PublishedDocument jwks;
+    private volatile PublishedDocument discovery;
+    private long appliedVersion = -1;
+
+    @PostConstruct
+    public void init() {
+        rebuild(keyProviderService.getKeyRing());
+    }
+
+    /**
+     * Events are published after the keyring swap without ordering, so two close rotations may
+     * arrive out of order. The event is only a trigger, the documents are built from the current ring.
+     */
+    @EventListener
+    public void onKeyRingChanged(KeyRingChangedEvent event) {
+        rebuild(keyProviderService.getKeyRing());
+    }
+
+    private synchronized void rebuild(KeyRing keyRing) {
+        if (keyRing.version() <= appliedVersion) {
+            return;
+        }
+        appliedVersion = keyRing.version();
+        List<JWK> keys = keyRing.published().stream()
+                .map(SigningKey::getPublicJwk)
+                .map(JWK.class::cast)
+                .toList();
+
+        this.jwkSet = new JWKSet(keys);
+        // toString() serializes the public parameters only
+        this.jwks = publish(jwkSet.toString(), jwksCacheTime());
+        this.discovery = publish(JSONObjectUtils.toJSONString(buildDiscovery()), discoveryMaxAge);
+        keyChangeStream.publish(keyRing.version(), jwks);
+    }
+
+    /**
+     * With rotation on, validators must pick up an upcoming key well before it signs,
+     * so the cache lifetime is capped at half the publish-ahead window.
+     */
+    private Duration jwksCacheTime() {
+        if (!rotationProperties.isEnabled()) {
+            return jwksMaxAge;
+        }
+        Duration half = rotationProperties.getPublishAhead().dividedBy(2);
+        return half.compareTo(jwksMaxAge) < 0 ? half : jwksMaxAge;
+    }
+
+    /**
+     * The published public keys as objects, for verification in this JVM.
+     */
+    public JWKSet getJwkSet() {
+        return jwkSet;
+    }
+
+    public PublishedDocument getJwks() {
+        return jwks;
+    }
+
+    public PublishedDocument getDiscovery() {
+        return discovery;
+    }
+
+    private Map<String, Object> buildDiscovery() {
+        String base = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+
+        Map<String, Object> document = new LinkedHashMap<>();
+        document.put("issuer", issuer);
+        document.put("jwks_uri", base + JWKS_PATH);
+        // only endpoints that speak the OAuth protocols, /auth/login is a JSON login and no ID tokens are issued
+        if (referenceTokenProperties.isEnabled()) {
+            document.put("introspection_endpoint", base + "/oauth2/introspect");
+            document.put("revocation_endpoint", base + "/oauth2/revoke");
+        }
+        document.put("subject_types_supported", List.of("public"));
+        List<String> claims = new ArrayList<>(List.of("sub", "iss", "iat", "exp", "username", "roles"));
+        if (permissionRegistry.isEnabled()) {
+            claims.add(PermissionRegistry.PERMISSIONS_CLAIM);
+            claims.add(PermissionRegistry.VERSION_CLAIM);
+            document.put("permissions_uri", base + PermissionRegistry.PATH);
+        }
+        document.put("claims_supported", claims);
+        return document;
+    }
+
+    private PublishedDocument publish(String json, Duration maxAge) {
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        return new PublishedDocument(body, strongEtag(body), maxAge);
+    }
+
+    private String strongEtag(byte[] body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            // 128 bits of the digest is plenty to tell documents apart
+            return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(digest, 16)) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
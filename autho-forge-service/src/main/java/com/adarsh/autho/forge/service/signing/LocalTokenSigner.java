@@ -0,0 +1,21 @@
+package com.adarsh.autho.forge.service.signing;
+
+import com.adarsh.autho.forge.service.key.SigningKey;
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.util.Base64URL;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+/**
+ * Signs in-process with the private key held by the keyring.
+ */
+@Service
+@ConditionalOnProperty(prefix = "autho.forge.signer", name = "type", havingValue = "local", matchIfMissing = true)
+public class LocalTokenSigner implements TokenSigner {
+
+    @Override
+    public Base64URL sign(SigningKey key, JWSHeader header, byte[] signingInput) throws JOSEException {
+        return key.getSigner().sign(header, signingInput);
+    }
+}
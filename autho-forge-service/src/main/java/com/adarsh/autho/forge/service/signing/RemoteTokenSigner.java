@@ -0,0 +1,281 @@
+package com.adarsh.autho.forge.service.signing;
+
+import com.adarsh.autho.forge.service.config.KeyRotationProperties;
+import com.adarsh.autho.forge.service.config.TokenSignerProperties;
+import com.adarsh.autho.forge.service.key.SigningKey;
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.util.Base64URL;
+import com.nimbusds.jose.util.JSONObjectUtils;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.security.interfaces.RSAPublicKey;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Signs through a remote KMS/HSM without paying one round trip per token.
+ * <p>
+ * Request threads queue their signing input and wait. A single dispatcher takes a free call slot
+ * (at most {@code max-in-flight} calls are outstanding), then sends everything queued so far, up to
+ * {@code max-batch-size}, as one {@code POST /sign}. While all slots are busy new requests pile up
+ * and leave together with the next call, so batches grow with load and the number of round trips
+ * stays bounded. Responses are matched to callers by position.
+ * <p>
+ * Protocol: {@code POST /sign {"requests":[{"kid","alg","input"}]}} answers
+ * {@code {"results":[{"signature"} | {"error"}]}}, all values base64url; {@code GET /keys/{kid}}
+ * answers the public JWK.
+ */
+@Service
+@ConditionalOnProperty(prefix = "autho.forge.signer", name = "type", havingValue = "remote")
+public class RemoteTokenSigner implements TokenSigner {
+
+    private static final Logger log = LoggerFactory.getLogger(RemoteTokenSigner.class);
+
+    private record Pending(String kid, String alg, byte[] signingInput, CompletableFuture<Base64URL> signature) {
+    }
+
+    private final TokenSignerProperties.Remote properties;
+    private final URI baseUri;
+    private final HttpClient httpClient;
+    private final BlockingQueue<Pending> queue;
+    private final Semaphore callSlots;
+
+    private final DistributionSummary batchSize;
+    private final Timer callTimer;
+
+    private Thread dispatcher;
+    private volatile boolean running;
+
+    @Autowired
+    public RemoteTokenSigner(TokenSignerProperties signerProperties, KeyRotationProperties rotationProperties,
+                             MeterRegistry meterRegistry) {
+        this.properties = signerProperties.getRemote();
+        if (properties.getUrl() == null || properties.getUrl().isBlank()
+                || properties.getKeyId() == null || properties.getKeyId().isBlank()) {
+            throw new IllegalStateException("autho.forge.signer.type=remote needs autho.forge.signer.remote.url and key-id");
+        }
+        if (rotationProperties.isEnabled()) {
+            // rotation generates key pairs in this JVM, which is what the remote signer is there to avoid
+            throw new IllegalStateException("autho.forge.key.rotation can't be combined with the remote signer, rotate keys in the KMS");
+        }
+        this.baseUri = URI.create(properties.getUrl().endsWith("/") ? properties.getUrl() : properties.getUrl() + "/");
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(properties.getTimeout())
+                .build();
+        this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+        this.callSlots = new Semaphore(properties.getMaxInFlight());
+
+        this.batchSize = DistributionSummary.builder("autho.forge.signer.batch.size")
+                .description("Signatures requested per remote signing call")
+                .register(meterRegistry);
+        this.callTimer = Timer.builder("autho.forge.signer.call")
+                .description("Round trip of one remote signing call")
+                .register(meterRegistry);
+        Gauge.builder("autho.forge.signer.queue.size", queue, BlockingQueue::size)
+                .description("Signing requests waiting for a remote call")
+                .register(meterRegistry);
+        Gauge.builder("autho.forge.signer.in-flight", callSlots, slots -> properties.getMaxInFlight() - slots.availablePermits())
+                .description("Remote signing calls outstanding")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Public key of {@code kid} as published by the signing service.
+     */
+    public RSAPublicKey fetchPublicKey(String kid) {
+        HttpRequest request = HttpRequest.newBuilder(baseUri.resolve("keys/" + URLEncoder.encode(kid, StandardCharsets.UTF_8)))
+                .timeout(properties.getTimeout())
+                .GET()
+                .build();
+        try {
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("Signing service answered " + response.statusCode() + " for key " + kid);
+            }
+            return RSAKey.parse(response.body()).toRSAPublicKey();
+        } catch (IOException | ParseException | JOSEException e) {
+            throw new IllegalStateException("Failed to fetch public key " + kid + " from " + baseUri, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while fetching public key " + kid, e);
+        }
+    }
+
+    @Override
+    public Base64URL sign(SigningKey key, JWSHeader header, byte[] signingInput) throws JOSEException {
+        Pending pending = new Pending(key.getKid(), header.getAlgorithm().getName(), signingInput, new CompletableFuture<>());
+        if (!queue.offer(pending)) {
+            throw new JOSEException("Remote signer queue is full (" + properties.getQueueCapacity() + ")");
+        }
+        try {
+            return pending.signature().get(properties.getTimeout().toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            // the dispatcher skips requests that are already completed
+            pending.signature().cancel(false);
+            throw new JOSEException("No signature from the remote signer within " + properties.getTimeout());
+        } catch (ExecutionException e) {
+            throw new JOSEException("Remote signing failed: " + e.getCause().getMessage(), e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new JOSEException("Interrupted while waiting for the remote signer", e);
+        }
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        dispatcher = new Thread(this::dispatchLoop, "autho-forge-signer");
+        dispatcher.setDaemon(true);
+        dispatcher.start();
+    }
+
+    private void dispatchLoop() {
+        int maxBatch = properties.getMaxBatchSize();
+        long maxWaitNanos = properties.getMaxWait().toNanos();
+        List<Pending> batch = new ArrayList<>(maxBatch);
+        while (running) {
+            try {
+                batch.add(queue.take());
+                // wait for a call slot before draining, whatever queues up meanwhile joins this batch
+                callSlots.acquire();
+                queue.drainTo(batch, maxBatch - 1);
+                if (maxWaitNanos > 0) {
+                    fill(batch, maxBatch, System.nanoTime() + maxWaitNanos);
+                }
+            } catch (InterruptedException e) {
+                // taken off the queue but never sent, failQueued() won't see these
+                batch.forEach(pending -> pending.signature().completeExceptionally(new IllegalStateException("Remote signer stopped")));
+                break;
+            }
+            batch.removeIf(pending -> pending.signature().isDone());
+            if (batch.isEmpty()) {
+                callSlots.release();
+            } else {
+                send(List.copyOf(batch));
+            }
+            batch.clear();
+        }
+        failQueued();
+    }
+
+    private void fill(List<Pending> batch, int maxBatch, long deadline) throws InterruptedException {
+        while (batch.size() < maxBatch) {
+            long remaining = deadline - System.nanoTime();
+            Pending next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : null;
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+            queue.drainTo(batch, maxBatch - batch.size());
+        }
+    }
+
+    private void send(List<Pending> batch) {
+        batchSize.record(batch.size());
+        long started = System.nanoTime();
+        HttpRequest request;
+        try {
+            request = HttpRequest.newBuilder(baseUri.resolve("sign"))
+                    .timeout(properties.getTimeout())
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(requestBody(batch)))
+                    .build();
+        } catch (RuntimeException e) {
+            callSlots.release();
+            batch.forEach(pending -> pending.signature().completeExceptionally(e));
+            return;
+        }
+        httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                .whenComplete((response, error) -> {
+                    callSlots.release();
+                    callTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+                    if (error != null) {
+                        log.warn("Remote signing call with {} requests failed: {}", batch.size(), error.toString());
+                        batch.forEach(pending -> pending.signature().completeExceptionally(error));
+                    } else {
+                        complete(batch, response);
+                    }
+                });
+    }
+
+    private static String requestBody(List<Pending> batch) {
+        List<Object> requests = new ArrayList<>(batch.size());
+        for (Pending pending : batch) {
+            requests.add(Map.of(
+                    "kid", pending.kid(),
+                    "alg", pending.alg(),
+                    "input", Base64URL.encode(pending.signingInput()).toString()));
+        }
+        return JSONObjectUtils.toJSONString(Map.of("requests", requests));
+    }
+
+    private static void complete(List<Pending> batch, HttpResponse<String> response) {
+        try {
+            if (response.statusCode() != 200) {
+                throw new IOException("Signing service answered " + response.statusCode());
+            }
+            List<Object> results = JSONObjectUtils.getJSONArray(JSONObjectUtils.parse(response.body()), "results");
+            if (results == null || results.size() != batch.size()) {
+                throw new IOException("Signing service answered " + (results == null ? 0 : results.size())
+                        + " results for " + batch.size() + " requests");
+            }
+            for (int i = 0; i < batch.size(); i++) {
+                @SuppressWarnings("unchecked")
+                Map<String, Object> result = (Map<String, Object>) results.get(i);
+                Object signature = result.get("signature");
+                if (signature instanceof String value) {
+                    batch.get(i).signature().complete(new Base64URL(value));
+                } else {
+                    batch.get(i).signature().completeExceptionally(new JOSEException("Signing service refused: " + result.get("error")));
+                }
+            }
+        } catch (IOException | ParseException | RuntimeException e) {
+            batch.forEach(pending -> pending.signature().completeExceptionally(e));
+        }
+    }
+
+    private void failQueued() {
+        List<Pending> left = new ArrayList<>();
+        queue.drainTo(left);
+        left.forEach(pending -> pending.signature().completeExceptionally(new IllegalStateException("Remote signer stopped")));
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (dispatcher != null) {
+            dispatcher.interrupt();
+            dispatcher.join(Duration.ofSeconds(5).toMillis());
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.adarsh.autho.forge.service.signing;
+
+import com.adarsh.autho.forge.service.key.SigningKey;
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.util.Base64URL;
+
+/**
+ * Produces JWS signatures for access tokens. The private key may live in this JVM
+ * ({@link LocalTokenSigner}) or behind a remote KMS/HSM ({@link RemoteTokenSigner}),
+ * selected with {@code autho.forge.signer.type}.
+ */
+public interface TokenSigner {
+
+    /**
+     * Signs {@code signingInput} (the ASCII "header.payload" of the JWS) with {@code key}.
+     * Blocks until the signature is available.
+     */
+    Base64URL sign(SigningKey key, JWSHeader header, byte[] signingInput) throws JOSEException;
+}
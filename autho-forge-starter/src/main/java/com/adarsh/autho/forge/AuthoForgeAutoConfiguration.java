@@ -1,20 +1,42 @@
 package com.adarsh.autho.forge;
 
+import com.adarsh.autho.forge.client.InternalAssertionInterceptor;
+import com.adarsh.autho.forge.client.ServiceTokenManager;
 import com.adarsh.autho.forge.config.AuthoForgeProperties;
+import com.adarsh.autho.forge.filter.JwtAuthenticationEntryPoint;
 import com.adarsh.autho.forge.filter.JwtAuthenticationFilter;
+import com.adarsh.autho.forge.filter.PublicPathMatcher;
+import com.adarsh.autho.forge.service.AuthorityDecoder;
+import com.adarsh.autho.forge.service.InternalAssertionCodec;
+import com.adarsh.autho.forge.service.IntrospectionClient;
+import com.adarsh.autho.forge.service.JwkChangeSubscriber;
 import com.adarsh.autho.forge.service.JwkService;
+import com.adarsh.autho.forge.service.JwtValidator;
+import com.adarsh.autho.forge.service.LocalKeySource;
+import com.adarsh.autho.forge.service.PermissionRegistryClient;
+import com.adarsh.autho.forge.service.ReferenceTokenResolver;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.config.BeanPostProcessor;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.web.servlet.DispatcherServlet;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Auto-configuration for Autho-Forge JWT authentication.
@@ -28,38 +50,188 @@ public class AuthoForgeAutoConfiguration {
 
     private static final Logger log = LoggerFactory.getLogger(AuthoForgeAutoConfiguration.class);
 
+    public static final String VALIDATOR_EXECUTOR = "authoForgeValidatorExecutor";
+
     public AuthoForgeAutoConfiguration() {
         log.info("🔐 Autho-Forge authentication enabled");
     }
 
+    /**
+     * Keys come from a {@link LocalKeySource} bean when the auth server runs in this JVM,
+     * from the JWKS endpoint otherwise.
+     */
     @Bean
-    public JwkService jwkService(AuthoForgeProperties properties) {
+    public JwkService jwkService(AuthoForgeProperties properties, ObjectProvider<LocalKeySource> localKeySource) {
+        LocalKeySource local = localKeySource.getIfAvailable();
+        if (local != null) {
+            log.info("Initializing JWK service with in-process keys from {}", local.getClass().getSimpleName());
+            return new JwkService(properties, local);
+        }
         log.info("Initializing JWK service with URI: {}", properties.getJwkSetUri());
         return new JwkService(properties);
     }
 
+    /**
+     * Pushes key changes into the JWK cache. Started with the context, so AOT processing and
+     * CDS training runs (which exit on refresh) never open the connection.
+     * Not needed with in-process keys, they are always current.
+     */
     @Bean
-    public JwtAuthenticationFilter jwtAuthenticationFilter(
+    @ConditionalOnProperty(prefix = "autho.forge", name = "jwk-change-stream-enabled", havingValue = "true", matchIfMissing = true)
+    @ConditionalOnMissingBean(LocalKeySource.class)
+    public JwkChangeSubscriber jwkChangeSubscriber(JwkService jwkService, AuthoForgeProperties properties) {
+        return new JwkChangeSubscriber(jwkService, properties);
+    }
+
+    /**
+     * Outbound tokens for the identities under autho.forge.client, fetched at startup and kept fresh.
+     * With no identities configured it does nothing.
+     */
+    @Bean
+    public ServiceTokenManager serviceTokenManager(AuthoForgeProperties properties) {
+        return new ServiceTokenManager(properties);
+    }
+
+    /**
+     * Always defined but lazy and only pulled in by the filter when reference tokens are enabled.
+     * A build-time condition would be frozen by Spring AOT, this way the runtime property still decides.
+     */
+    @Bean
+    @Lazy
+    public ReferenceTokenResolver referenceTokenResolver(AuthoForgeProperties properties) {
+        log.info("Reference tokens enabled, introspecting via: {}", properties.getIntrospectionUri());
+        return new ReferenceTokenResolver(new IntrospectionClient(properties), properties);
+    }
+
+    /**
+     * Lazy like the reference token resolver, the filter only pulls it in when
+     * autho.forge.assertion.issue or accept is set, so the secret is only required then.
+     */
+    @Bean
+    @Lazy
+    public InternalAssertionCodec internalAssertionCodec(AuthoForgeProperties properties, AuthorityDecoder authorityDecoder) {
+        AuthoForgeProperties.Assertion assertion = properties.getAssertion();
+        log.info("Internal assertions enabled (issue={}, accept={}, ttl={}s)",
+                assertion.isIssue(), assertion.isAccept(), assertion.getTtlSeconds());
+        return new InternalAssertionCodec(assertion, authorityDecoder);
+    }
+
+    /**
+     * Add to the {@code RestClient}/{@code RestTemplate} used for calls to internal services.
+     */
+    @Bean
+    public InternalAssertionInterceptor internalAssertionInterceptor() {
+        return new InternalAssertionInterceptor();
+    }
+
+    @Bean
+    public AuthorityDecoder authorityDecoder(AuthoForgeProperties properties) {
+        String registryUri = properties.getPermissionRegistryUri();
+        boolean permissions = registryUri != null && !registryUri.isBlank();
+        return new AuthorityDecoder(permissions ? new PermissionRegistryClient(properties) : null);
+    }
+
+    @Bean
+    public PublicPathMatcher publicPathMatcher(AuthoForgeProperties properties) {
+        PublicPathMatcher matcher = PublicPathMatcher.compile(properties.getPublicPaths());
+        log.info("Public paths (no token verification): {}", matcher.getPatterns());
+        return matcher;
+    }
+
+    /**
+     * Batch fan-out for {@link JwtValidator#verifyAll}. Define a bean with this name to supply your own.
+     * Threads are only started once batches are actually verified.
+     */
+    @Bean(name = VALIDATOR_EXECUTOR, destroyMethod = "shutdown")
+    @ConditionalOnMissingBean(name = VALIDATOR_EXECUTOR)
+    public ExecutorService authoForgeValidatorExecutor(AuthoForgeProperties properties) {
+        AtomicInteger count = new AtomicInteger();
+        return Executors.newFixedThreadPool(validatorThreads(properties), r -> {
+            Thread thread = new Thread(r, "autho-forge-validator-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Bean
+    public JwtValidator jwtValidator(
             JwkService jwkService,
-            AuthoForgeProperties properties) {
-        return new JwtAuthenticationFilter(jwkService, properties);
+            AuthoForgeProperties properties,
+            ObjectProvider<ReferenceTokenResolver> referenceTokenResolver,
+            AuthorityDecoder authorityDecoder,
+            @Qualifier(VALIDATOR_EXECUTOR) ExecutorService executor) {
+        ReferenceTokenResolver resolver = properties.isReferenceTokensEnabled() ? referenceTokenResolver.getIfAvailable() : null;
+        return new JwtValidator(jwkService, properties, resolver, authorityDecoder, executor, validatorThreads(properties));
     }
 
     @Bean
+    public JwtAuthenticationFilter jwtAuthenticationFilter(
+            JwtValidator jwtValidator,
+            PublicPathMatcher publicPathMatcher,
+            AuthoForgeProperties properties,
+            ObjectProvider<InternalAssertionCodec> internalAssertionCodec) {
+        if (properties.isDeferredAuthentication()) {
+            log.info("Bearer tokens are verified when authorization first needs them");
+        }
+        AuthoForgeProperties.Assertion assertion = properties.getAssertion();
+        InternalAssertionCodec codec = assertion.isIssue() || assertion.isAccept() ? internalAssertionCodec.getIfAvailable() : null;
+        return new JwtAuthenticationFilter(jwtValidator, publicPathMatcher, properties.isDeferredAuthentication(), codec);
+    }
+
+    /**
+     * DispatcherServlet looks up the principal after every request for its RequestHandledEvent,
+     * which would verify each deferred token anyway, so the event is turned off in deferred mode.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "autho.forge", name = "deferred-authentication", havingValue = "true")
+    public static BeanPostProcessor deferredAuthenticationRequestEvents() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof DispatcherServlet dispatcherServlet) {
+                    dispatcherServlet.setPublishEvents(false);
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * 401 for tokens rejected on a deferred read, add it to custom chains as well.
+     */
+    @Bean
+    public JwtAuthenticationEntryPoint jwtAuthenticationEntryPoint() {
+        return new JwtAuthenticationEntryPoint();
+    }
+
+    /**
+     * Backs off when the application defines its own chain, which then adds
+     * {@link JwtAuthenticationFilter} itself (as autho-forge-service does when embedding protected endpoints).
+     */
+    @Bean
+    @ConditionalOnMissingBean(SecurityFilterChain.class)
     public SecurityFilterChain securityFilterChain(
             HttpSecurity http,
-            JwtAuthenticationFilter jwtAuthenticationFilter) throws Exception {
+            JwtAuthenticationFilter jwtAuthenticationFilter,
+            JwtAuthenticationEntryPoint jwtAuthenticationEntryPoint,
+            PublicPathMatcher publicPathMatcher) throws Exception {
         
         http
             .csrf(AbstractHttpConfigurer::disable)
             .sessionManagement(session -> 
                 session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             .authorizeHttpRequests(auth -> auth
-                .requestMatchers("/actuator/**", "/health/**").permitAll()
+                .requestMatchers(publicPathMatcher).permitAll()
                 .anyRequest().authenticated())
+            .exceptionHandling(exceptions -> exceptions.authenticationEntryPoint(jwtAuthenticationEntryPoint))
             .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
 
         log.info("✅ Security filter chain configured with JWT authentication");
         return http.build();
     }
-}
\ No newline at end of file
+
+    private static int validatorThreads(AuthoForgeProperties properties) {
+        int configured = properties.getValidatorThreads();
+        return configured > 0 ? configured : Runtime.getRuntime().availableProcessors();
+    }
+}
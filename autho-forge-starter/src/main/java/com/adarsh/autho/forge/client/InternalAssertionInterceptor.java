@@ -0,0 +1,29 @@
+package com.adarsh.autho.forge.client;
+
+import com.adarsh.autho.forge.security.JwtAuthenticationToken;
+import com.adarsh.autho.forge.service.InternalAssertionCodec;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.IOException;
+
+/**
+ * Forwards the internal assertion of the current request's identity to downstream services on
+ * {@code RestClient}/{@code RestTemplate} calls. Requests made outside an authenticated request,
+ * or without an assertion, go out unchanged.
+ */
+public class InternalAssertionInterceptor implements ClientHttpRequestInterceptor {
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication instanceof JwtAuthenticationToken jwt && jwt.getInternalAssertion() != null) {
+            request.getHeaders().set(InternalAssertionCodec.HEADER, jwt.getInternalAssertion());
+        }
+        return execution.execute(request, body);
+    }
+}
@@ -0,0 +1,42 @@
+package com.adarsh.autho.forge.client;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * {@code WebClient} counterpart of {@link ServiceTokenInterceptor}. Needs spring-webflux on the classpath.
+ * <p>
+ * The cached token is attached without leaving the event loop. Only when none is usable
+ * does the (blocking, single-flight) renewal run, on the bounded elastic scheduler.
+ */
+public class ServiceTokenExchangeFilter implements ExchangeFilterFunction {
+
+    private final ServiceTokenManager tokenManager;
+    private final String identity;
+
+    public ServiceTokenExchangeFilter(ServiceTokenManager tokenManager, String identity) {
+        this.tokenManager = tokenManager;
+        this.identity = identity;
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        String cached = tokenManager.getCachedToken(identity);
+        Mono<String> token = cached != null
+                ? Mono.just(cached)
+                : Mono.fromCallable(() -> tokenManager.getToken(identity)).subscribeOn(Schedulers.boundedElastic());
+        return token
+                .map(value -> ClientRequest.from(request).headers(headers -> headers.setBearerAuth(value)).build())
+                .flatMap(next::exchange)
+                .doOnNext(response -> {
+                    if (response.statusCode().isSameCodeAs(HttpStatus.UNAUTHORIZED)) {
+                        tokenManager.invalidate(identity);
+                    }
+                });
+    }
+}
@@ -0,0 +1,34 @@
+package com.adarsh.autho.forge.client;
+
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+
+/**
+ * Adds the cached service token of one client identity to {@code RestClient}/{@code RestTemplate} requests.
+ * A 401 from the downstream service drops the cached token, so the next call uses a renewed one.
+ */
+public class ServiceTokenInterceptor implements ClientHttpRequestInterceptor {
+
+    private final ServiceTokenManager tokenManager;
+    private final String identity;
+
+    public ServiceTokenInterceptor(ServiceTokenManager tokenManager, String identity) {
+        this.tokenManager = tokenManager;
+        this.identity = identity;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
+        request.getHeaders().setBearerAuth(tokenManager.getToken(identity));
+        ClientHttpResponse response = execution.execute(request, body);
+        if (response.getStatusCode().isSameCodeAs(HttpStatus.UNAUTHORIZED)) {
+            tokenManager.invalidate(identity);
+        }
+        return response;
+    }
+}
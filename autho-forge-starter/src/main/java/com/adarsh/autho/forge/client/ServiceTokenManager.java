@@ -0,0 +1,280 @@
+package com.adarsh.autho.forge.client;
+
+import com.adarsh.autho.forge.config.AuthoForgeProperties;
+import com.adarsh.autho.forge.config.AuthoForgeProperties.Identity;
+import com.nimbusds.jose.util.JSONObjectUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Obtains and caches access tokens for outgoing calls, one per configured client identity.
+ * <p>
+ * Tokens are fetched when the context starts and renewed on a background thread ahead of
+ * {@code expires_in} (via the refresh endpoint, falling back to a login), so callers normally
+ * read a cached token without any network round trip. Only when no valid token exists does a
+ * caller wait, and then all concurrent callers of that identity share one request.
+ */
+public class ServiceTokenManager implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(ServiceTokenManager.class);
+    // a token this close to expiry is not handed out, it could expire in flight
+    private static final long EXPIRY_SKEW_MILLIS = 5_000;
+    private static final long RETRY_DELAY_MILLIS = 10_000;
+
+    private record CachedToken(String accessToken, String refreshToken, long expiresAtMillis) {
+
+        boolean usable(long now) {
+            return now < expiresAtMillis - EXPIRY_SKEW_MILLIS;
+        }
+    }
+
+    private static final class Entry {
+        final String identity;
+        final Identity credentials;
+        volatile CachedToken current;
+        final AtomicReference<CompletableFuture<CachedToken>> inFlight = new AtomicReference<>();
+        ScheduledFuture<?> nextRefresh;
+
+        Entry(String identity, Identity credentials) {
+            this.identity = identity;
+            this.credentials = credentials;
+        }
+    }
+
+    private final Map<String, Entry> entries = new LinkedHashMap<>();
+    private final HttpClient httpClient;
+    private final URI loginUri;
+    private final URI refreshUri;
+    private final Duration readTimeout;
+    private final long refreshAheadMillis;
+    private final ScheduledExecutorService scheduler;
+
+    private volatile boolean running;
+
+    public ServiceTokenManager(AuthoForgeProperties properties) {
+        AuthoForgeProperties.Client client = properties.getClient();
+        client.getIdentities().forEach((name, credentials) -> entries.put(name, new Entry(name, credentials)));
+        this.loginUri = client.getLoginUri() != null ? URI.create(client.getLoginUri()) : null;
+        this.refreshUri = client.getRefreshUri() != null ? URI.create(client.getRefreshUri()) : null;
+        this.refreshAheadMillis = client.getRefreshAheadSeconds() * 1000;
+        this.readTimeout = Duration.ofMillis(properties.getJwkReadTimeoutMillis());
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofMillis(properties.getJwkConnectTimeoutMillis()))
+                .build();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "autho-forge-service-tokens");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (!entries.isEmpty() && loginUri == null) {
+            throw new IllegalStateException("autho.forge.client.login-uri is required when client identities are configured");
+        }
+    }
+
+    /**
+     * Access token for {@code identity}. Cached in the steady state, only blocks when
+     * no usable token exists yet (or renewal has been failing past its expiry).
+     *
+     * @throws IllegalArgumentException for an identity that isn't configured
+     * @throws IllegalStateException    when no token could be obtained
+     */
+    public String getToken(String identity) {
+        Entry entry = entry(identity);
+        CachedToken token = entry.current;
+        if (token != null && token.usable(System.currentTimeMillis())) {
+            return token.accessToken();
+        }
+        try {
+            return renew(entry).join().accessToken();
+        } catch (CompletionException e) {
+            throw new IllegalStateException("Could not obtain a token for " + identity, e.getCause());
+        }
+    }
+
+    /**
+     * The cached token if it is still usable, otherwise null. Never does I/O.
+     */
+    public String getCachedToken(String identity) {
+        CachedToken token = entry(identity).current;
+        return token != null && token.usable(System.currentTimeMillis()) ? token.accessToken() : null;
+    }
+
+    /**
+     * Forget the cached token, e.g. after a downstream service rejected it.
+     */
+    public void invalidate(String identity) {
+        Entry entry = entry(identity);
+        CachedToken token = entry.current;
+        // keep the refresh token, the renewal can still skip the login
+        entry.current = token != null ? new CachedToken(token.accessToken(), token.refreshToken(), 0) : null;
+    }
+
+    /**
+     * Interceptor for {@code RestClient}/{@code RestTemplate} that sends the identity's token.
+     */
+    public ClientHttpRequestInterceptor interceptor(String identity) {
+        entry(identity);
+        return new ServiceTokenInterceptor(this, identity);
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        // fetch every identity up front, the first outgoing call should already find a token
+        for (Entry entry : entries.values()) {
+            scheduler.execute(() -> refreshAhead(entry));
+        }
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        scheduler.shutdownNow();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private Entry entry(String identity) {
+        Entry entry = entries.get(identity);
+        if (entry == null) {
+            throw new IllegalArgumentException("Unknown client identity: " + identity);
+        }
+        return entry;
+    }
+
+    /**
+     * Single-flight renewal: the first caller does the request on its own thread,
+     * everyone arriving meanwhile waits for the same result.
+     */
+    private CompletableFuture<CachedToken> renew(Entry entry) {
+        CompletableFuture<CachedToken> mine = new CompletableFuture<>();
+        CompletableFuture<CachedToken> existing = entry.inFlight.compareAndExchange(null, mine);
+        if (existing != null) {
+            return existing;
+        }
+        try {
+            CachedToken token = fetch(entry);
+            entry.current = token;
+            scheduleRefresh(entry, token);
+            mine.complete(token);
+        } catch (Exception e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            mine.completeExceptionally(e);
+        } finally {
+            entry.inFlight.compareAndSet(mine, null);
+        }
+        return mine;
+    }
+
+    private void refreshAhead(Entry entry) {
+        if (!running) {
+            return;
+        }
+        CompletableFuture<CachedToken> result = renew(entry);
+        if (result.isCompletedExceptionally()) {
+            CachedToken current = entry.current;
+            long remaining = current != null ? current.expiresAtMillis() - System.currentTimeMillis() : 0;
+            // keep trying while the old token still works, callers aren't affected yet
+            long delay = remaining > 0 ? Math.min(RETRY_DELAY_MILLIS, Math.max(remaining / 2, 1_000)) : RETRY_DELAY_MILLIS;
+            log.warn("Renewing service token for {} failed, retrying in {} ms: {}",
+                    entry.identity, delay, result.exceptionNow().getMessage());
+            schedule(entry, delay);
+        }
+    }
+
+    private void scheduleRefresh(Entry entry, CachedToken token) {
+        long lifetime = token.expiresAtMillis() - System.currentTimeMillis();
+        long ahead = Math.min(refreshAheadMillis, lifetime / 2);
+        schedule(entry, Math.max(0, lifetime - ahead));
+    }
+
+    /**
+     * One pending refresh per identity, an on-demand renewal replaces the scheduled one.
+     */
+    private void schedule(Entry entry, long delayMillis) {
+        if (!running) {
+            return;
+        }
+        synchronized (entry) {
+            if (entry.nextRefresh != null) {
+                entry.nextRefresh.cancel(false);
+            }
+            try {
+                entry.nextRefresh = scheduler.schedule(() -> refreshAhead(entry), delayMillis, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                // shutting down
+            }
+        }
+    }
+
+    /**
+     * Refresh grant when we hold a refresh token (no password hashing on the server),
+     * a full login otherwise or when the refresh token was rejected.
+     */
+    private CachedToken fetch(Entry entry) throws IOException, InterruptedException {
+        CachedToken current = entry.current;
+        if (current != null && current.refreshToken() != null && refreshUri != null) {
+            try {
+                return post(refreshUri, Map.of("refresh_token", current.refreshToken()));
+            } catch (IOException e) {
+                log.debug("Refresh for {} rejected, logging in again: {}", entry.identity, e.getMessage());
+            }
+        }
+        return post(loginUri, Map.of(
+                "username", entry.credentials.getUsername(),
+                "password", entry.credentials.getPassword()));
+    }
+
+    private CachedToken post(URI uri, Map<String, Object> body) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .timeout(readTimeout)
+                .header("Content-Type", "application/json")
+                .header("Accept", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(JSONObjectUtils.toJSONString(body)))
+                .build();
+        long sentAt = System.currentTimeMillis();
+        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IOException("HTTP " + response.statusCode() + " from " + uri);
+        }
+        try {
+            Map<String, Object> json = JSONObjectUtils.parse(response.body());
+            String accessToken = JSONObjectUtils.getString(json, "access_token");
+            Number expiresIn = (Number) json.get("expires_in");
+            if (accessToken == null || expiresIn == null) {
+                throw new IOException("Token response from " + uri + " lacks access_token or expires_in");
+            }
+            // measured from when the request left, the server's clock started no earlier
+            return new CachedToken(accessToken, JSONObjectUtils.getString(json, "refresh_token"),
+                    sentAt + expiresIn.longValue() * 1000);
+        } catch (ParseException e) {
+            throw new IOException("Malformed token response from " + uri, e);
+        }
+    }
+}
@@ -2,6 +2,11 @@ package com.adarsh.autho.forge.config;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 /**
  * Configuration properties for Autho-Forge authentication.
  * 
@@ -28,11 +33,115 @@ public class AuthoForgeProperties {
      */
     private boolean enabled = true;
 
+    /**
+     * Paths open without authentication. Requests to them skip token parsing and verification
+     * entirely. Literal segments, '*' for one segment and a trailing '**'.
+     */
+    private List<String> publicPaths = new ArrayList<>(List.of("/actuator/**", "/health/**"));
+
     /**
      * Cache duration for JWK keys in minutes
      */
     private long jwkCacheDurationMinutes = 60;
 
+    /**
+     * Connect timeout for JWK set requests in milliseconds
+     */
+    private long jwkConnectTimeoutMillis = 2000;
+
+    /**
+     * Timeout for the whole JWK set response in milliseconds
+     */
+    private long jwkReadTimeoutMillis = 5000;
+
+    /**
+     * Use the server's Cache-Control max-age as refresh interval when present,
+     * instead of jwkCacheDurationMinutes
+     */
+    private boolean jwkRespectCacheControl = true;
+
+    /**
+     * Lower bound for the refresh interval in seconds, protects the auth server
+     * from very small or zero max-age values
+     */
+    private long jwkMinRefreshSeconds = 30;
+
+    /**
+     * Subscribe to the auth server's JWKS change feed (long-poll) instead of polling on a timer.
+     * Polling remains the fallback whenever the feed is down.
+     */
+    private boolean jwkChangeStreamEnabled = true;
+
+    /**
+     * How long one change feed request waits for a key change (the server caps it). Well above the JWKS
+     * max-age so an idle feed costs a few requests an hour; keep it below load balancer idle timeouts
+     * and, with key rotation, below half the publish-ahead window
+     */
+    private long jwkChangeStreamWaitSeconds = 1200;
+
+    /**
+     * Verify bearer tokens only when authorization rules or application code first ask
+     * for the authentication, instead of on every request that carries one
+     */
+    private boolean deferredAuthentication = false;
+
+    /**
+     * Accept opaque reference tokens and resolve them through introspection
+     */
+    private boolean referenceTokensEnabled = false;
+
+    /**
+     * RFC 7662 introspection endpoint of the auth server
+     */
+    private String introspectionUri;
+
+    /**
+     * Shared secret sent to the introspection endpoint as a bearer credential
+     */
+    private String introspectionSecret;
+
+    /**
+     * How long an active introspection result is reused locally
+     */
+    private long introspectionCacheTtlSeconds = 30;
+
+    /**
+     * How long an inactive (unknown, revoked, expired) result is reused locally
+     */
+    private long introspectionNegativeCacheTtlSeconds = 5;
+
+    /**
+     * Upper bound for locally cached introspection results
+     */
+    private int introspectionCacheMaxEntries = 100_000;
+
+    /**
+     * Permission registry of the auth server, used to decode the perms bitset claim.
+     * Leave empty to ignore permission claims (roles still apply).
+     */
+    private String permissionRegistryUri;
+
+    /**
+     * Minimum time between registry fetches triggered by tokens with an unknown version
+     */
+    private long permissionRegistryMinRefetchSeconds = 30;
+
+    /**
+     * Threads used by JwtValidator.verifyAll to fan out batch verification,
+     * 0 means one per available processor
+     */
+    private int validatorThreads = 0;
+
+    /**
+     * Outbound service tokens, used when this service calls others
+     */
+    private final Client client = new Client();
+
+    /**
+     * Edge-verified internal assertions, forwarded between services instead of re-verifying the JWT
+     */
+    private final Assertion assertion = new Assertion();
+
     public String getJwkSetUri() {
         return jwkSetUri;
     }
@@ -57,6 +166,14 @@ public class AuthoForgeProperties {
         this.enabled = enabled;
     }
 
+    public List<String> getPublicPaths() {
+        return publicPaths;
+    }
+
+    public void setPublicPaths(List<String> publicPaths) {
+        this.publicPaths = publicPaths;
+    }
+
     public long getJwkCacheDurationMinutes() {
         return jwkCacheDurationMinutes;
     }
@@ -64,4 +181,299 @@ public class AuthoForgeProperties {
     public void setJwkCacheDurationMinutes(long jwkCacheDurationMinutes) {
         this.jwkCacheDurationMinutes = jwkCacheDurationMinutes;
     }
+
+    public long getJwkConnectTimeoutMillis() {
+        return jwkConnectTimeoutMillis;
+    }
+
+    public void setJwkConnectTimeoutMillis(long jwkConnectTimeoutMillis) {
+        this.jwkConnectTimeoutMillis = jwkConnectTimeoutMillis;
+    }
+
+    public long getJwkReadTimeoutMillis() {
+        return jwkReadTimeoutMillis;
+    }
+
+    public void setJwkReadTimeoutMillis(long jwkReadTimeoutMillis) {
+        this.jwkReadTimeoutMillis = jwkReadTimeoutMillis;
+    }
+
+    public boolean isJwkRespectCacheControl() {
+        return jwkRespectCacheControl;
+    }
+
+    public void setJwkRespectCacheControl(boolean jwkRespectCacheControl) {
+        this.jwkRespectCacheControl = jwkRespectCacheControl;
+    }
+
+    public long getJwkMinRefreshSeconds() {
+        return jwkMinRefreshSeconds;
+    }
+
+    public void setJwkMinRefreshSeconds(long jwkMinRefreshSeconds) {
+        this.jwkMinRefreshSeconds = jwkMinRefreshSeconds;
+    }
+
+    public boolean isDeferredAuthentication() {
+        return deferredAuthentication;
+    }
+
+    public void setDeferredAuthentication(boolean deferredAuthentication) {
+        this.deferredAuthentication = deferredAuthentication;
+    }
+
+    public boolean isReferenceTokensEnabled() {
+        return referenceTokensEnabled;
+    }
+
+    public void setReferenceTokensEnabled(boolean referenceTokensEnabled) {
+        this.referenceTokensEnabled = referenceTokensEnabled;
+    }
+
+    public String getIntrospectionUri() {
+        return introspectionUri;
+    }
+
+    public void setIntrospectionUri(String introspectionUri) {
+        this.introspectionUri = introspectionUri;
+    }
+
+    public String getIntrospectionSecret() {
+        return introspectionSecret;
+    }
+
+    public void setIntrospectionSecret(String introspectionSecret) {
+        this.introspectionSecret = introspectionSecret;
+    }
+
+    public long getIntrospectionCacheTtlSeconds() {
+        return introspectionCacheTtlSeconds;
+    }
+
+    public void setIntrospectionCacheTtlSeconds(long introspectionCacheTtlSeconds) {
+        this.introspectionCacheTtlSeconds = introspectionCacheTtlSeconds;
+    }
+
+    public long getIntrospectionNegativeCacheTtlSeconds() {
+        return introspectionNegativeCacheTtlSeconds;
+    }
+
+    public void setIntrospectionNegativeCacheTtlSeconds(long introspectionNegativeCacheTtlSeconds) {
+        this.introspectionNegativeCacheTtlSeconds = introspectionNegativeCacheTtlSeconds;
+    }
+
+    public int getIntrospectionCacheMaxEntries() {
+        return introspectionCacheMaxEntries;
+    }
+
+    public void setIntrospectionCacheMaxEntries(int introspectionCacheMaxEntries) {
+        this.introspectionCacheMaxEntries = introspectionCacheMaxEntries;
+    }
+
+    public String getPermissionRegistryUri() {
+        return permissionRegistryUri;
+    }
+
+    public void setPermissionRegistryUri(String permissionRegistryUri) {
+        this.permissionRegistryUri = permissionRegistryUri;
+    }
+
+    public long getPermissionRegistryMinRefetchSeconds() {
+        return permissionRegistryMinRefetchSeconds;
+    }
+
+    public void setPermissionRegistryMinRefetchSeconds(long permissionRegistryMinRefetchSeconds) {
+        this.permissionRegistryMinRefetchSeconds = permissionRegistryMinRefetchSeconds;
+    }
+
+    public int getValidatorThreads() {
+        return validatorThreads;
+    }
+
+    public void setValidatorThreads(int validatorThreads) {
+        this.validatorThreads = validatorThreads;
+    }
+
+    public boolean isJwkChangeStreamEnabled() {
+        return jwkChangeStreamEnabled;
+    }
+
+    public void setJwkChangeStreamEnabled(boolean jwkChangeStreamEnabled) {
+        this.jwkChangeStreamEnabled = jwkChangeStreamEnabled;
+    }
+
+    public long getJwkChangeStreamWaitSeconds() {
+        return jwkChangeStreamWaitSeconds;
+    }
+
+    public void setJwkChangeStreamWaitSeconds(long jwkChangeStreamWaitSeconds) {
+        this.jwkChangeStreamWaitSeconds = jwkChangeStreamWaitSeconds;
+    }
+
+    public Client getClient() {
+        return client;
+    }
+
+    public Assertion getAssertion() {
+        return assertion;
+    }
+
+    /**
+     * Outbound tokens, obtained from the auth server per client identity and refreshed ahead of expiry.
+     * <p>
+     * autho.forge.client.identities.reporting.username=reporting-svc
+     * autho.forge.client.identities.reporting.password=${REPORTING_SVC_PASSWORD}
+     */
+    public static class Client {
+
+        /**
+         * Login endpoint of the auth server
+         */
+        private String loginUri;
+
+        /**
+         * Refresh endpoint of the auth server, renewals use it before falling back to a full login
+         */
+        private String refreshUri;
+
+        /**
+         * Renew this long before the token expires, capped at half the token lifetime
+         */
+        private long refreshAheadSeconds = 60;
+
+        /**
+         * Credentials per client identity
+         */
+        private Map<String, Identity> identities = new LinkedHashMap<>();
+
+        public String getLoginUri() {
+            return loginUri;
+        }
+
+        public void setLoginUri(String loginUri) {
+            this.loginUri = loginUri;
+        }
+
+        public String getRefreshUri() {
+            return refreshUri;
+        }
+
+        public void setRefreshUri(String refreshUri) {
+            this.refreshUri = refreshUri;
+        }
+
+        public long getRefreshAheadSeconds() {
+            return refreshAheadSeconds;
+        }
+
+        public void setRefreshAheadSeconds(long refreshAheadSeconds) {
+            this.refreshAheadSeconds = refreshAheadSeconds;
+        }
+
+        public Map<String, Identity> getIdentities() {
+            return identities;
+        }
+
+        public void setIdentities(Map<String, Identity> identities) {
+            this.identities = identities;
+        }
+    }
+
+    public static class Identity {
+
+        private String username;
+
+        private String password;
+
+        public String getUsername() {
+            return username;
+        }
+
+        public void setUsername(String username) {
+            this.username = username;
+        }
+
+        public String getPassword() {
+            return password;
+        }
+
+        public void setPassword(String password) {
+            this.password = password;
+        }
+    }
+
+    /**
+     * The edge service verifies the JWT once and issues a short-lived assertion of the verified identity,
+     * MACed with a secret shared by the internal services. Those accept it with an HMAC check instead of RSA.
+     * <p>
+     * autho.forge.assertion.issue=true (edge) / autho.forge.assertion.accept=true (internal services)
+     * autho.forge.assertion.secret=${AUTHO_ASSERTION_SECRET}
+     */
+    public static class Assertion {
+
+        /**
+         * Issue an assertion for every verified token, forwarded by InternalAssertionInterceptor
+         */
+        private boolean issue = false;
+
+        /**
+         * Authenticate requests carrying a valid assertion without verifying their JWT
+         */
+        private boolean accept = false;
+
+        /**
+         * HMAC-SHA256 key shared by all internal services, at least 32 bytes
+         */
+        private String secret;
+
+        /**
+         * Still accepted while the new secret rolls out, leave empty otherwise
+         */
+        private String previousSecret;
+
+        /**
+         * Assertion lifetime, never beyond the expiry of the token it was issued for
+         */
+        private long ttlSeconds = 30;
+
+        public boolean isIssue() {
+            return issue;
+        }
+
+        public void setIssue(boolean issue) {
+            this.issue = issue;
+        }
+
+        public boolean isAccept() {
+            return accept;
+        }
+
+        public void setAccept(boolean accept) {
+            this.accept = accept;
+        }
+
+        public String getSecret() {
+            return secret;
+        }
+
+        public void setSecret(String secret) {
+            this.secret = secret;
+        }
+
+        public String getPreviousSecret() {
+            return previousSecret;
+        }
+
+        public void setPreviousSecret(String previousSecret) {
+            this.previousSecret = previousSecret;
+        }
+
+        public long getTtlSeconds() {
+            return ttlSeconds;
+        }
+
+        public void setTtlSeconds(long ttlSeconds) {
+            this.ttlSeconds = ttlSeconds;
+        }
+    }
 }
@@ -0,0 +1,36 @@
+package com.adarsh.autho.forge.filter;
+
+import com.adarsh.autho.forge.security.InvalidTokenException;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.web.AuthenticationEntryPoint;
+import org.springframework.security.web.authentication.Http403ForbiddenEntryPoint;
+
+import java.io.IOException;
+
+/**
+ * Answers a rejected bearer token with 401, like {@link JwtAuthenticationFilter} does when it
+ * verifies eagerly. Requests without a token keep Spring Security's default 403.
+ */
+public class JwtAuthenticationEntryPoint implements AuthenticationEntryPoint {
+
+    private final AuthenticationEntryPoint noToken = new Http403ForbiddenEntryPoint();
+
+    @Override
+    public void commence(HttpServletRequest request, HttpServletResponse response,
+                         AuthenticationException authException) throws IOException, ServletException {
+        if (authException instanceof InvalidTokenException) {
+            writeUnauthorized(response);
+        } else {
+            noToken.commence(request, response, authException);
+        }
+    }
+
+    static void writeUnauthorized(HttpServletResponse response) throws IOException {
+        response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+        response.setContentType("application/json");
+        response.getWriter().write("{\"error\": \"Invalid or expired token\"}");
+    }
+}
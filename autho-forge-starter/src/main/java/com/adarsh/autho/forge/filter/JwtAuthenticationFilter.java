@@ -1,32 +1,41 @@
 package com.adarsh.autho.forge.filter;
 
 import com.adarsh.autho.forge.config.AuthoForgeProperties;
+import com.adarsh.autho.forge.security.InvalidTokenException;
 import com.adarsh.autho.forge.security.JwtAuthenticationToken;
+import com.adarsh.autho.forge.service.AuthorityDecoder;
+import com.adarsh.autho.forge.service.InternalAssertionCodec;
 import com.adarsh.autho.forge.service.JwkService;
-import com.nimbusds.jose.JWSVerifier;
-import com.nimbusds.jose.crypto.RSASSAVerifier;
-import com.nimbusds.jose.jwk.RSAKey;
-import com.nimbusds.jwt.JWTClaimsSet;
-import com.nimbusds.jwt.SignedJWT;
+import com.adarsh.autho.forge.service.JwtValidationResult;
+import com.adarsh.autho.forge.service.JwtValidator;
+import com.adarsh.autho.forge.service.ReferenceTokenResolver;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextHolderStrategy;
+import org.springframework.util.function.SingletonSupplier;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.time.Instant;
-import java.util.Collections;
-import java.util.Date;
-import java.util.List;
+import java.util.function.Supplier;
 
 /**
  * Filter to validate JWT tokens from Authorization header.
  * Extracts user information and sets Spring Security context.
+ * The validation itself is done by {@link JwtValidator}, this is only the servlet adapter.
+ * <p>
+ * In deferred mode the token is only verified when authorization rules or application code
+ * first read the security context, so requests that never need identity skip the RSA work.
+ * A rejected token then fails that read, {@link JwtAuthenticationEntryPoint} answers 401.
+ * <p>
+ * With internal assertions, the edge attaches one to every authentication it creates and internal
+ * services accepting them authenticate from the {@link InternalAssertionCodec#HEADER} header alone.
+ * An assertion that fails its MAC or expired is rejected, there is no fallback to the bearer token.
  */
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
@@ -34,12 +43,57 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private static final String AUTHORIZATION_HEADER = "Authorization";
     private static final String BEARER_PREFIX = "Bearer ";
 
-    private final JwkService jwkService;
-    private final AuthoForgeProperties properties;
+    private final JwtValidator validator;
+    private final PublicPathMatcher publicPaths;
+    private final boolean deferred;
+    private final InternalAssertionCodec assertionCodec;
 
     public JwtAuthenticationFilter(JwkService jwkService, AuthoForgeProperties properties) {
-        this.jwkService = jwkService;
-        this.properties = properties;
+        this(jwkService, properties, null);
+    }
+
+    /**
+     * @param referenceTokenResolver resolver for opaque reference tokens, null to accept JWTs only
+     */
+    public JwtAuthenticationFilter(JwkService jwkService, AuthoForgeProperties properties,
+                                   ReferenceTokenResolver referenceTokenResolver) {
+        this(new JwtValidator(jwkService, properties, referenceTokenResolver, new AuthorityDecoder(null), Runnable::run, 1),
+                PublicPathMatcher.compile(properties.getPublicPaths()));
+    }
+
+    /**
+     * @param validator   shared validator engine
+     * @param publicPaths paths that bypass this filter, share it with the permitAll rule
+     */
+    public JwtAuthenticationFilter(JwtValidator validator, PublicPathMatcher publicPaths) {
+        this(validator, publicPaths, false);
+    }
+
+    /**
+     * @param deferred verify on first read of the security context instead of up front
+     */
+    public JwtAuthenticationFilter(JwtValidator validator, PublicPathMatcher publicPaths, boolean deferred) {
+        this(validator, publicPaths, deferred, null);
+    }
+
+    /**
+     * @param assertionCodec issues and/or accepts internal assertions, null when neither is enabled
+     */
+    public JwtAuthenticationFilter(JwtValidator validator, PublicPathMatcher publicPaths, boolean deferred,
+                                   InternalAssertionCodec assertionCodec) {
+        this.validator = validator;
+        this.publicPaths = publicPaths;
+        this.deferred = deferred;
+        this.assertionCodec = assertionCodec;
+    }
+
+    /**
+     * Public paths never look at the Authorization header, a bearer token sent to a
+     * health check or static asset costs nothing (and can't fail the request).
+     */
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return publicPaths.matches(request);
     }
 
     @Override
@@ -48,26 +102,76 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             HttpServletResponse response,
             FilterChain filterChain) throws ServletException, IOException {
 
-        try {
-            String token = extractToken(request);
-            
-            if (token != null) {
-                JwtAuthenticationToken authentication = validateAndCreateAuthentication(token);
-                SecurityContextHolder.getContext().setAuthentication(authentication);
-                log.debug("Authentication successful for user: {}", authentication.getUsername());
+        String assertion = assertionCodec != null && assertionCodec.isAccepting()
+                ? request.getHeader(InternalAssertionCodec.HEADER) : null;
+        if (assertion != null) {
+            JwtValidationResult result = assertionCodec.verify(assertion);
+            if (!result.isValid()) {
+                log.warn("Internal assertion rejected: {}", result.message());
+                SecurityContextHolder.clearContext();
+                JwtAuthenticationEntryPoint.writeUnauthorized(response);
+                return;
             }
-        } catch (Exception e) {
-            log.error("JWT validation failed: {}", e.getMessage());
-            SecurityContextHolder.clearContext();
-            response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
-            response.getWriter().write("{\"error\": \"Invalid or expired token\"}");
-            response.setContentType("application/json");
+            // forwarded as received, the expiry set at the edge holds for the whole call chain
+            JwtAuthenticationToken authentication = result.toAuthentication();
+            authentication.setInternalAssertion(assertion);
+            SecurityContextHolder.getContext().setAuthentication(authentication);
+            filterChain.doFilter(request, response);
             return;
         }
 
+        String token = extractToken(request);
+
+        if (token != null && deferred) {
+            deferAuthentication(token);
+        } else if (token != null) {
+            JwtValidationResult result = verify(token);
+            if (!result.isValid()) {
+                SecurityContextHolder.clearContext();
+                JwtAuthenticationEntryPoint.writeUnauthorized(response);
+                return;
+            }
+            SecurityContextHolder.getContext().setAuthentication(authenticate(result));
+            log.debug("Authentication successful for user: {}", result.username());
+        }
+
         filterChain.doFilter(request, response);
     }
 
+    /**
+     * Installs a context that verifies the token when first read. Both the verification and
+     * the context are memoized, a rejected token throws on every read.
+     */
+    private void deferAuthentication(String token) {
+        SecurityContextHolderStrategy strategy = SecurityContextHolder.getContextHolderStrategy();
+        Supplier<JwtValidationResult> result = SingletonSupplier.of(() -> verify(token));
+        strategy.setDeferredContext(SingletonSupplier.of(() -> {
+            JwtValidationResult verified = result.get();
+            if (!verified.isValid()) {
+                throw new InvalidTokenException(verified.failure(), verified.message());
+            }
+            SecurityContext context = strategy.createEmptyContext();
+            context.setAuthentication(authenticate(verified));
+            return context;
+        }));
+    }
+
+    private JwtAuthenticationToken authenticate(JwtValidationResult result) {
+        JwtAuthenticationToken authentication = result.toAuthentication();
+        if (assertionCodec != null && assertionCodec.isIssuing()) {
+            authentication.setInternalAssertion(assertionCodec.issue(result));
+        }
+        return authentication;
+    }
+
+    private JwtValidationResult verify(String token) {
+        JwtValidationResult result = validator.verify(token);
+        if (!result.isValid()) {
+            log.error("JWT validation failed: {}", result.message());
+        }
+        return result;
+    }
+
     /**
      * Extract JWT token from Authorization header
      */
@@ -80,56 +184,4 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         
         return null;
     }
-
-    /**
-     * Validate JWT and create authentication token
-     */
-    private JwtAuthenticationToken validateAndCreateAuthentication(String token) throws Exception {
-        // Parse JWT
-        SignedJWT signedJWT = SignedJWT.parse(token);
-        
-        // Get Key ID from header
-        String keyId = signedJWT.getHeader().getKeyID();
-        if (keyId == null) {
-            throw new SecurityException("JWT missing 'kid' in header");
-        }
-
-        // Fetch public key
-        RSAKey publicKey = jwkService.getPublicKey(keyId);
-        if (publicKey == null) {
-            throw new SecurityException("Public key not found for kid: " + keyId);
-        }
-
-        // Verify signature
-        JWSVerifier verifier = new RSASSAVerifier(publicKey);
-        if (!signedJWT.verify(verifier)) {
-            throw new SecurityException("JWT signature verification failed");
-        }
-
-        // Extract claims
-        JWTClaimsSet claims = signedJWT.getJWTClaimsSet();
-
-        // Validate issuer
-        if (!properties.getIssuer().equals(claims.getIssuer())) {
-            throw new SecurityException("Invalid issuer: " + claims.getIssuer());
-        }
-
-        // Validate expiration
-        Date expiration = claims.getExpirationTime();
-        if (expiration == null || expiration.before(Date.from(Instant.now()))) {
-            throw new SecurityException("Token expired");
-        }
-
-        // Extract user details
-        String userId = claims.getSubject();
-        String username = claims.getStringClaim("username");
-        String role = claims.getStringClaim("roles");
-
-        // Create authorities
-        List<SimpleGrantedAuthority> authorities = role != null
-                ? Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + role))
-                : Collections.emptyList();
-
-        return new JwtAuthenticationToken(userId, username, token, authorities);
-    }
 }
@@ -0,0 +1,121 @@
+package com.adarsh.autho.forge.filter;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Matches request paths against the configured public path patterns.
+ * <p>
+ * The patterns are compiled once into a trie keyed by path segment, so a lookup walks
+ * the request path once no matter how many patterns there are (it only backtracks where a
+ * literal and {@code *} share a prefix) and allocates nothing but the segment keys. Supported segments:
+ * <ul>
+ *     <li>literal, e.g. {@code /favicon.ico}</li>
+ *     <li>{@code *}, exactly one non-empty segment</li>
+ *     <li>{@code **} as the last segment, the prefix itself and anything below it</li>
+ * </ul>
+ * The same instance drives the {@code permitAll} rule and the filter bypass, so the two can't disagree.
+ */
+public class PublicPathMatcher implements RequestMatcher {
+
+    private static final class Node {
+        final Map<String, Node> literals = new HashMap<>();
+        Node anySegment;
+        boolean terminal;
+        boolean anySuffix;
+    }
+
+    private final Node root = new Node();
+    private final List<String> patterns;
+
+    private PublicPathMatcher(List<String> patterns) {
+        this.patterns = List.copyOf(patterns);
+        for (String pattern : this.patterns) {
+            add(pattern);
+        }
+    }
+
+    /**
+     * @throws IllegalArgumentException for patterns outside the supported subset
+     */
+    public static PublicPathMatcher compile(List<String> patterns) {
+        return new PublicPathMatcher(patterns != null ? patterns : List.of());
+    }
+
+    public List<String> getPatterns() {
+        return patterns;
+    }
+
+    public boolean isEmpty() {
+        return patterns.isEmpty();
+    }
+
+    @Override
+    public boolean matches(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        String contextPath = request.getContextPath();
+        if (contextPath != null && !contextPath.isEmpty() && path.startsWith(contextPath)) {
+            path = path.substring(contextPath.length());
+        }
+        return matches(path);
+    }
+
+    public boolean matches(String path) {
+        if (path == null || path.isEmpty() || path.charAt(0) != '/') {
+            return false;
+        }
+        return matches(root, path, 1);
+    }
+
+    private static boolean matches(Node node, String path, int start) {
+        if (node.anySuffix) {
+            return true;
+        }
+        if (start > path.length()) {
+            return node.terminal;
+        }
+        int end = path.indexOf('/', start);
+        if (end < 0) {
+            end = path.length();
+        }
+        Node literal = node.literals.get(path.substring(start, end));
+        if (literal != null && matches(literal, path, end + 1)) {
+            return true;
+        }
+        // a literal match takes precedence but may dead-end deeper down, then try '*'
+        return node.anySegment != null && end > start && matches(node.anySegment, path, end + 1);
+    }
+
+    private void add(String pattern) {
+        if (pattern == null || !pattern.startsWith("/")) {
+            throw new IllegalArgumentException("Public path pattern must start with '/': " + pattern);
+        }
+        String[] segments = pattern.substring(1).split("/", -1);
+        Node node = root;
+        for (int i = 0; i < segments.length; i++) {
+            String segment = segments[i];
+            if (segment.equals("**")) {
+                if (i != segments.length - 1) {
+                    throw new IllegalArgumentException("'**' is only supported as the last segment: " + pattern);
+                }
+                node.anySuffix = true;
+                return;
+            }
+            if (segment.equals("*")) {
+                if (node.anySegment == null) {
+                    node.anySegment = new Node();
+                }
+                node = node.anySegment;
+            } else if (segment.indexOf('*') >= 0 || segment.indexOf('{') >= 0) {
+                throw new IllegalArgumentException("Partial wildcards and path variables are not supported: " + pattern);
+            } else {
+                node = node.literals.computeIfAbsent(segment, s -> new Node());
+            }
+        }
+        node.terminal = true;
+    }
+}
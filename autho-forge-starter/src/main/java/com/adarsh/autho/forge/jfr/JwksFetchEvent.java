@@ -0,0 +1,36 @@
+package com.adarsh.autho.forge.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * One JWK set fetch from the auth server by {@code JwkService}, successful or not.
+ */
+@Name("autho.forge.JwksFetch")
+@Label("JWKS Fetch")
+@Category({"Autho-Forge", "Validation"})
+@Description("HTTP fetch of the auth server's JWK set")
+@Threshold("0 ms")
+@StackTrace(false)
+public class JwksFetchEvent extends Event {
+
+    @Label("URI")
+    public String uri;
+
+    @Label("Status")
+    @Description("HTTP status, 0 when no response arrived")
+    public int status;
+
+    @Label("Bytes")
+    @DataAmount
+    public long bytes;
+
+    @Label("Error")
+    public String error;
+}
@@ -0,0 +1,39 @@
+package com.adarsh.autho.forge.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * One token verification by {@code JwtValidator}. Recorded from 1 ms up by default, verifications
+ * usually take a fraction of that, so only the slow ones (key fetch, cold verifier) show up.
+ * Lower the threshold to see all of them, e.g.
+ * {@code -XX:StartFlightRecording:+autho.forge.TokenVerification#threshold=0ms}.
+ */
+@Name("autho.forge.TokenVerification")
+@Label("Token Verification")
+@Category({"Autho-Forge", "Validation"})
+@Description("Verification of one access token")
+@Threshold("1 ms")
+@StackTrace(false)
+public class TokenVerificationEvent extends Event {
+
+    @Label("Outcome")
+    @Description("VALID or the failure reason (EXPIRED, UNKNOWN_KEY, ...)")
+    public String outcome;
+
+    @Label("Key ID")
+    public String keyId;
+
+    @Label("Verifier Cached")
+    @Description("The RSA verifier for the key was reused")
+    public boolean verifierCached;
+
+    @Label("Reference Token")
+    @Description("Opaque token resolved through introspection")
+    public boolean referenceToken;
+}
@@ -0,0 +1,37 @@
+package com.adarsh.autho.forge.security;
+
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.core.Authentication;
+
+/**
+ * Authorization rules backed by the decoded permission bitset, for use in
+ * {@code authorizeHttpRequests(auth -> auth.requestMatchers("/orders/**").access(hasPermission("orders:write")))}.
+ * Unlike {@code hasAuthority}, the check doesn't scan and string-compare the authority list.
+ */
+public final class AuthoForgeAuthorization {
+
+    private AuthoForgeAuthorization() {
+    }
+
+    public static <T> AuthorizationManager<T> hasPermission(String permission) {
+        return (authentication, object) -> new AuthorizationDecision(
+                authoritySet(authentication.get()).hasPermission(permission));
+    }
+
+    public static <T> AuthorizationManager<T> hasAnyPermission(String... permissions) {
+        return (authentication, object) -> {
+            AuthoritySet set = authoritySet(authentication.get());
+            for (String permission : permissions) {
+                if (set.hasPermission(permission)) {
+                    return new AuthorizationDecision(true);
+                }
+            }
+            return new AuthorizationDecision(false);
+        };
+    }
+
+    private static AuthoritySet authoritySet(Authentication authentication) {
+        return authentication instanceof JwtAuthenticationToken token ? token.getAuthoritySet() : AuthoritySet.EMPTY;
+    }
+}
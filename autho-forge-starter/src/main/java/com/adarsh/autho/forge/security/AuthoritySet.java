@@ -0,0 +1,74 @@
+package com.adarsh.autho.forge.security;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Immutable authorities of one (role, permission bitset) combination.
+ * Tokens share a handful of combinations, so instances are cached and shared between requests.
+ * {@link #hasPermission} is a hash lookup plus a bit test, however many permissions exist.
+ */
+public final class AuthoritySet {
+
+    public static final AuthoritySet EMPTY = new AuthoritySet(null, new BitSet(), null);
+
+    private final String role;
+    private final BitSet permissions;
+    private final PermissionRegistry registry;
+    private final List<GrantedAuthority> authorities;
+
+    private AuthoritySet(String role, BitSet permissions, PermissionRegistry registry) {
+        this.role = role;
+        this.permissions = permissions;
+        this.registry = registry;
+
+        List<GrantedAuthority> list = new ArrayList<>(permissions.cardinality() + 1);
+        if (role != null) {
+            list.add(new SimpleGrantedAuthority("ROLE_" + role));
+        }
+        if (registry != null) {
+            for (int bit = permissions.nextSetBit(0); bit >= 0 && bit < registry.size(); bit = permissions.nextSetBit(bit + 1)) {
+                list.add(registry.authority(bit));
+            }
+        }
+        this.authorities = Collections.unmodifiableList(list);
+    }
+
+    public static AuthoritySet ofRole(String role) {
+        return role == null ? EMPTY : new AuthoritySet(role, new BitSet(), null);
+    }
+
+    /**
+     * @param encodedPermissions little-endian bitset in base64url, as issued in the {@code perms} claim
+     */
+    public static AuthoritySet decode(String role, String encodedPermissions, PermissionRegistry registry) {
+        BitSet bits = BitSet.valueOf(Base64.getUrlDecoder().decode(encodedPermissions));
+        return new AuthoritySet(role, bits, registry);
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    public boolean hasRole(String role) {
+        return this.role != null && this.role.equals(role);
+    }
+
+    public boolean hasPermission(String permission) {
+        if (registry == null) {
+            return false;
+        }
+        int bit = registry.bitOf(permission);
+        return bit >= 0 && permissions.get(bit);
+    }
+
+    public List<GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+}
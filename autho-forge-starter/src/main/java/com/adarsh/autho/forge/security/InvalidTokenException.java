@@ -0,0 +1,22 @@
+package com.adarsh.autho.forge.security;
+
+import com.adarsh.autho.forge.service.JwtValidationResult.Failure;
+import org.springframework.security.core.AuthenticationException;
+
+/**
+ * A bearer token was presented but rejected. Thrown when a deferred security context is
+ * first read, so Spring Security's exception translation sends the request to the entry point.
+ */
+public class InvalidTokenException extends AuthenticationException {
+
+    private final Failure failure;
+
+    public InvalidTokenException(Failure failure, String message) {
+        super(message);
+        this.failure = failure;
+    }
+
+    public Failure getFailure() {
+        return failure;
+    }
+}
@@ -13,6 +13,17 @@ public class JwtAuthenticationToken extends AbstractAuthenticationToken {
     private final String userId;
     private final String username;
     private final String token;
+    private final AuthoritySet authoritySet;
+    private String internalAssertion;
+
+    public JwtAuthenticationToken(String userId, String username, String token, AuthoritySet authoritySet) {
+        super(authoritySet.getAuthorities());
+        this.userId = userId;
+        this.username = username;
+        this.token = token;
+        this.authoritySet = authoritySet;
+        setAuthenticated(true);
+    }
 
     public JwtAuthenticationToken(
             String userId,
@@ -23,6 +34,7 @@ public class JwtAuthenticationToken extends AbstractAuthenticationToken {
         this.userId = userId;
         this.username = username;
         this.token = token;
+        this.authoritySet = AuthoritySet.EMPTY;
         setAuthenticated(true);
     }
 
@@ -47,4 +59,30 @@ public class JwtAuthenticationToken extends AbstractAuthenticationToken {
     public String getToken() {
         return token;
     }
+
+    /**
+     * Role and permissions decoded from the token, shared and immutable.
+     */
+    public AuthoritySet getAuthoritySet() {
+        return authoritySet;
+    }
+
+    /**
+     * Assertion of this identity to forward to internal services, null unless
+     * autho.forge.assertion is issuing or this request arrived with one.
+     */
+    public String getInternalAssertion() {
+        return internalAssertion;
+    }
+
+    public void setInternalAssertion(String internalAssertion) {
+        this.internalAssertion = internalAssertion;
+    }
+
+    /**
+     * O(1) permission check: a registry hash lookup for the bit index, then a test of the token's bitset.
+     */
+    public boolean hasPermission(String permission) {
+        return authoritySet.hasPermission(permission);
+    }
 }
@@ -0,0 +1,49 @@
+package com.adarsh.autho.forge.security;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bit index to permission name mapping published by the auth server.
+ * Registries are append-only, so one version decodes tokens of its own and every older version.
+ */
+public final class PermissionRegistry {
+
+    private final int version;
+    private final GrantedAuthority[] authorities;
+    private final Map<String, Integer> bitByName;
+
+    public PermissionRegistry(int version, List<String> names) {
+        this.version = version;
+        this.authorities = new GrantedAuthority[names.size()];
+        this.bitByName = new HashMap<>(names.size() * 2);
+        for (int bit = 0; bit < names.size(); bit++) {
+            authorities[bit] = new SimpleGrantedAuthority(names.get(bit));
+            bitByName.put(names.get(bit), bit);
+        }
+    }
+
+    public int getVersion() {
+        return version;
+    }
+
+    public int size() {
+        return authorities.length;
+    }
+
+    /**
+     * Bit of a permission, -1 when it isn't registered.
+     */
+    public int bitOf(String permission) {
+        Integer bit = bitByName.get(permission);
+        return bit != null ? bit : -1;
+    }
+
+    GrantedAuthority authority(int bit) {
+        return authorities[bit];
+    }
+}
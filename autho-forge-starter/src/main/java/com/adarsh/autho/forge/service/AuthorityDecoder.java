@@ -0,0 +1,56 @@
+package com.adarsh.autho.forge.service;
+
+import com.adarsh.autho.forge.security.AuthoritySet;
+import com.adarsh.autho.forge.security.PermissionRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Turns the role and permission claims into a shared {@link AuthoritySet}.
+ * Every user of a role carries the same claims, so the cache stays tiny and the
+ * decoding (and authority allocation) happens once per combination instead of per request.
+ */
+public class AuthorityDecoder {
+
+    private static final Logger log = LoggerFactory.getLogger(AuthorityDecoder.class);
+    private static final int MAX_ENTRIES = 4096;
+
+    private final PermissionRegistryClient registryClient;
+    private final Map<String, AuthoritySet> cache = new ConcurrentHashMap<>();
+
+    /**
+     * @param registryClient source of the permission registry, null to ignore permission claims
+     */
+    public AuthorityDecoder(PermissionRegistryClient registryClient) {
+        this.registryClient = registryClient;
+    }
+
+    public AuthoritySet decode(String role, String encodedPermissions, Integer version) {
+        String key = role + '|' + version + '|' + encodedPermissions;
+        AuthoritySet cached = cache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        AuthoritySet decoded = AuthoritySet.ofRole(role);
+        if (encodedPermissions != null && version != null && registryClient != null) {
+            PermissionRegistry registry = registryClient.registryFor(version);
+            if (registry == null) {
+                // fail closed: the role still applies, permissions don't, and the result isn't cached
+                log.warn("No permission registry for version {}, ignoring permission claim", version);
+                return decoded;
+            }
+            decoded = AuthoritySet.decode(role, encodedPermissions, registry);
+        }
+
+        // claims are signed, so only a handful of combinations exist; the bound guards against surprises
+        if (cache.size() >= MAX_ENTRIES) {
+            cache.clear();
+        }
+        cache.put(key, decoded);
+        return decoded;
+    }
+}
@@ -0,0 +1,161 @@
+package com.adarsh.autho.forge.service;
+
+import com.adarsh.autho.forge.config.AuthoForgeProperties;
+import com.adarsh.autho.forge.security.AuthoritySet;
+import com.adarsh.autho.forge.service.JwtValidationResult.Failure;
+import com.nimbusds.jwt.JWTClaimsSet;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.text.ParseException;
+import java.util.Base64;
+
+/**
+ * Issues and verifies internal assertions: the identity of a token the edge service already verified,
+ * MACed with a secret the internal services share.
+ * <pre>
+ * a1.&lt;sub&gt;.&lt;username&gt;.&lt;role&gt;.&lt;perms&gt;.&lt;perms_ver&gt;.&lt;exp&gt;.&lt;HMAC-SHA256&gt;
+ * </pre>
+ * Text fields are base64url, {@code perms} is the token's claim as is, {@code exp} is in epoch seconds and
+ * empty fields are absent claims. Verifying one costs an HMAC over ~100 bytes and a constant-time compare,
+ * against parsing the JWT and an RSA signature check.
+ */
+public class InternalAssertionCodec {
+
+    public static final String HEADER = "X-Autho-Forge-Assertion";
+
+    private static final String VERSION = "a1";
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final ThreadLocal<Mac> mac;
+    private final ThreadLocal<Mac> previousMac;
+    private final AuthorityDecoder authorityDecoder;
+    private final long ttlSeconds;
+    private final boolean issuing;
+    private final boolean accepting;
+
+    public InternalAssertionCodec(AuthoForgeProperties.Assertion properties, AuthorityDecoder authorityDecoder) {
+        this.mac = macFor(properties.getSecret(), "autho.forge.assertion.secret");
+        String previous = properties.getPreviousSecret();
+        this.previousMac = previous == null || previous.isBlank() ? null : macFor(previous, "autho.forge.assertion.previous-secret");
+        this.authorityDecoder = authorityDecoder;
+        this.ttlSeconds = properties.getTtlSeconds();
+        this.issuing = properties.isIssue();
+        this.accepting = properties.isAccept();
+    }
+
+    /**
+     * Whether verified tokens get an assertion to forward.
+     */
+    public boolean isIssuing() {
+        return issuing;
+    }
+
+    /**
+     * Whether requests carrying an assertion are authenticated by it.
+     */
+    public boolean isAccepting() {
+        return accepting;
+    }
+
+    /**
+     * Assertion of a valid result, expiring after the TTL or with the token, whichever comes first.
+     */
+    public String issue(JwtValidationResult result) {
+        if (!result.isValid()) {
+            throw new IllegalArgumentException("Only verified tokens can be asserted");
+        }
+        long exp = System.currentTimeMillis() / 1000 + ttlSeconds;
+        String perms = null;
+        Integer permsVersion = null;
+        JWTClaimsSet claims = result.claims();
+        if (claims != null) {
+            if (claims.getExpirationTime() != null) {
+                exp = Math.min(exp, claims.getExpirationTime().getTime() / 1000);
+            }
+            try {
+                perms = claims.getStringClaim("perms");
+                permsVersion = claims.getIntegerClaim("perms_ver");
+            } catch (ParseException e) {
+                // the validator decoded them already, malformed ones granted nothing there either
+            }
+        }
+
+        StringBuilder payload = new StringBuilder(128).append(VERSION);
+        appendText(payload, result.userId());
+        appendText(payload, result.username());
+        appendText(payload, result.authorities().getRole());
+        payload.append('.').append(perms == null ? "" : perms);
+        payload.append('.').append(permsVersion == null ? "" : permsVersion.toString());
+        payload.append('.').append(exp);
+        byte[] signature = mac.get().doFinal(payload.toString().getBytes(StandardCharsets.US_ASCII));
+        return payload.append('.').append(ENCODER.encodeToString(signature)).toString();
+    }
+
+    /**
+     * Checks the MAC (in constant time) and expiry. A valid result carries the asserted identity,
+     * with the assertion as its token.
+     */
+    public JwtValidationResult verify(String assertion) {
+        int macStart = assertion.lastIndexOf('.');
+        if (macStart < 0) {
+            return JwtValidationResult.invalid(assertion, Failure.MALFORMED, "Malformed internal assertion");
+        }
+        byte[] payload = assertion.substring(0, macStart).getBytes(StandardCharsets.US_ASCII);
+        byte[] presented;
+        try {
+            presented = DECODER.decode(assertion.substring(macStart + 1));
+        } catch (IllegalArgumentException e) {
+            return JwtValidationResult.invalid(assertion, Failure.MALFORMED, "Malformed internal assertion MAC");
+        }
+        if (!MessageDigest.isEqual(presented, mac.get().doFinal(payload))
+                && (previousMac == null || !MessageDigest.isEqual(presented, previousMac.get().doFinal(payload)))) {
+            return JwtValidationResult.invalid(assertion, Failure.INVALID_SIGNATURE, "Internal assertion MAC mismatch");
+        }
+
+        // MAC checked, the fields are ours
+        String[] fields = assertion.substring(0, macStart).split("\\.", -1);
+        if (fields.length != 7 || !VERSION.equals(fields[0])) {
+            return JwtValidationResult.invalid(assertion, Failure.MALFORMED, "Unsupported internal assertion");
+        }
+        if (Long.parseLong(fields[6]) < System.currentTimeMillis() / 1000) {
+            return JwtValidationResult.invalid(assertion, Failure.EXPIRED, "Internal assertion expired");
+        }
+        AuthoritySet authorities = authorityDecoder.decode(
+                text(fields[3]), fields[4].isEmpty() ? null : fields[4], fields[5].isEmpty() ? null : Integer.valueOf(fields[5]));
+        return JwtValidationResult.valid(assertion, text(fields[1]), text(fields[2]), authorities, null);
+    }
+
+    private static void appendText(StringBuilder payload, String value) {
+        payload.append('.');
+        if (value != null) {
+            payload.append(ENCODER.encodeToString(value.getBytes(StandardCharsets.UTF_8)));
+        }
+    }
+
+    private static String text(String field) {
+        return field.isEmpty() ? null : new String(DECODER.decode(field), StandardCharsets.UTF_8);
+    }
+
+    private static ThreadLocal<Mac> macFor(String secret, String property) {
+        if (secret == null || secret.getBytes(StandardCharsets.UTF_8).length < 32) {
+            throw new IllegalStateException(property + " must be set to at least 32 bytes for internal assertions");
+        }
+        SecretKeySpec key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+        // Mac instances aren't thread-safe, doFinal resets them for the next use
+        return ThreadLocal.withInitial(() -> {
+            try {
+                Mac mac = Mac.getInstance(ALGORITHM);
+                mac.init(key);
+                return mac;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("HMAC-SHA256 not available", e);
+            }
+        });
+    }
+}
@@ -0,0 +1,72 @@
+package com.adarsh.autho.forge.service;
+
+import com.adarsh.autho.forge.config.AuthoForgeProperties;
+import com.nimbusds.jose.util.JSONObjectUtils;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Calls the auth server's RFC 7662 introspection endpoint for opaque reference tokens.
+ */
+public class IntrospectionClient {
+
+    private final HttpClient httpClient;
+    private final URI introspectionUri;
+    private final Duration readTimeout;
+    private final String secret;
+
+    public IntrospectionClient(AuthoForgeProperties properties) {
+        this.introspectionUri = URI.create(properties.getIntrospectionUri());
+        this.readTimeout = Duration.ofMillis(properties.getJwkReadTimeoutMillis());
+        this.secret = properties.getIntrospectionSecret();
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofMillis(properties.getJwkConnectTimeoutMillis()))
+                .build();
+    }
+
+    public IntrospectionResult introspect(String token) throws IOException, InterruptedException, ParseException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(introspectionUri)
+                .timeout(readTimeout)
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .header("Accept", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("token=" + URLEncoder.encode(token, StandardCharsets.UTF_8)));
+        if (secret != null && !secret.isBlank()) {
+            request.header("Authorization", "Bearer " + secret);
+        }
+
+        HttpResponse<String> response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IOException("Unexpected HTTP " + response.statusCode() + " from " + introspectionUri);
+        }
+
+        Map<String, Object> body = JSONObjectUtils.parse(response.body());
+        if (!Boolean.TRUE.equals(body.get("active"))) {
+            return IntrospectionResult.INACTIVE;
+        }
+        return new IntrospectionResult(true,
+                JSONObjectUtils.getString(body, "sub"),
+                JSONObjectUtils.getString(body, "username"),
+                JSONObjectUtils.getString(body, "roles"),
+                body.get("exp") instanceof Number exp ? exp.longValue() : 0L);
+    }
+
+    /**
+     * Parsed introspection response.
+     *
+     * @param exp expiry in epoch seconds, 0 when unknown
+     */
+    public record IntrospectionResult(boolean active, String subject, String username, String roles, long exp) {
+
+        public static final IntrospectionResult INACTIVE = new IntrospectionResult(false, null, null, null, 0L);
+    }
+}
@@ -0,0 +1,170 @@
+package com.adarsh.autho.forge.service;
+
+import com.adarsh.autho.forge.config.AuthoForgeProperties;
+import com.nimbusds.jose.jwk.JWKSet;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Keeps a long-poll open against the auth server's JWKS change feed
+ * ({@code jwks.json?since=<version>&wait=<seconds>}) and pushes new key sets into {@link JwkService}.
+ * <p>
+ * Every answer (a new set or "unchanged" after the wait) extends the JWK cache for one more wait
+ * period, so while the feed is up the cache never expires and nothing polls. If the feed drops,
+ * the cache runs out shortly after and {@link JwkService} polls on its usual schedule while this
+ * thread reconnects with backoff.
+ */
+public class JwkChangeSubscriber implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(JwkChangeSubscriber.class);
+    private static final String VERSION_HEADER = "X-Jwks-Version";
+    private static final Duration MIN_BACKOFF = Duration.ofSeconds(1);
+    private static final Duration MAX_BACKOFF = Duration.ofMinutes(5);
+
+    private final JwkService jwkService;
+    private final HttpClient httpClient;
+    private final String jwkSetUri;
+    private final Duration wait;
+    private final Duration lease;
+
+    private volatile Thread thread;
+    private volatile boolean running;
+
+    private long version;
+    private String etag;
+
+    public JwkChangeSubscriber(JwkService jwkService, AuthoForgeProperties properties) {
+        this.jwkService = jwkService;
+        this.jwkSetUri = properties.getJwkSetUri();
+        this.wait = Duration.ofSeconds(properties.getJwkChangeStreamWaitSeconds());
+        // the next answer is due within the wait, the read timeout covers the network on top
+        this.lease = wait.plusMillis(properties.getJwkReadTimeoutMillis());
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofMillis(properties.getJwkConnectTimeoutMillis()))
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+    }
+
+    @Override
+    public void start() {
+        if (jwkSetUri == null || jwkSetUri.isBlank()) {
+            log.warn("No autho.forge.jwk-set-uri, JWKS change feed not started");
+            return;
+        }
+        running = true;
+        Thread t = new Thread(this::run, "autho-forge-jwk-changes");
+        t.setDaemon(true);
+        thread = t;
+        t.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        Thread t = thread;
+        if (t != null) {
+            t.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void run() {
+        Duration backoff = MIN_BACKOFF;
+        boolean supported = true;
+        boolean connected = false;
+        while (running) {
+            try {
+                HttpResponse<String> response = httpClient.send(request(), HttpResponse.BodyHandlers.ofString());
+                int status = response.statusCode();
+                Instant receivedAt = Instant.now();
+                Instant freshUntil = receivedAt.plus(lease);
+                if (status == 200) {
+                    JWKSet jwkSet = JWKSet.parse(response.body());
+                    etag = response.headers().firstValue("ETag").orElse(null);
+                    version = response.headers().firstValue(VERSION_HEADER).map(Long::parseLong).orElse(version);
+                    jwkService.acceptPushed(jwkSet, etag, freshUntil, receivedAt);
+                } else if (status == 304) {
+                    jwkService.acceptPushed(null, null, freshUntil, receivedAt);
+                } else {
+                    if (status == 400 || status == 404) {
+                        if (supported) {
+                            log.info("Auth server has no JWKS change feed (HTTP {}), polling only", status);
+                        }
+                        supported = false;
+                        backoff = MAX_BACKOFF;
+                    } else {
+                        log.warn("JWKS change feed answered HTTP {}, falling back to polling", status);
+                    }
+                    connected = false;
+                    sleep(backoff);
+                    backoff = next(backoff);
+                    continue;
+                }
+                if (!connected) {
+                    log.info("JWKS change feed connected (version {})", version);
+                }
+                connected = true;
+                supported = true;
+                backoff = MIN_BACKOFF;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("JWKS change feed dropped, falling back to polling: {}", e.getMessage());
+                connected = false;
+                sleep(backoff);
+                backoff = next(backoff);
+            }
+        }
+    }
+
+    private HttpRequest request() {
+        StringBuilder uri = new StringBuilder(jwkSetUri)
+                .append(jwkSetUri.indexOf('?') < 0 ? '?' : '&')
+                .append("since=").append(version)
+                .append("&wait=").append(wait.toSeconds());
+        if (etag != null) {
+            uri.append("&etag=").append(URLEncoder.encode(etag, StandardCharsets.UTF_8));
+        }
+        return HttpRequest.newBuilder(URI.create(uri.toString()))
+                .timeout(lease)
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+    }
+
+    private void sleep(Duration duration) {
+        // jitter so a fleet doesn't reconnect in lockstep after an auth server restart
+        long millis = duration.toMillis() / 2 + ThreadLocalRandom.current().nextLong(duration.toMillis() / 2 + 1);
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+
+    private static Duration next(Duration backoff) {
+        Duration doubled = backoff.multipliedBy(2);
+        return doubled.compareTo(MAX_BACKOFF) > 0 ? MAX_BACKOFF : doubled;
+    }
+}
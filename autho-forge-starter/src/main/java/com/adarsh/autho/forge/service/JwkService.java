@@ -1,33 +1,53 @@
 package com.adarsh.autho.forge.service;
 
 import com.adarsh.autho.forge.config.AuthoForgeProperties;
+import com.adarsh.autho.forge.jfr.JwksFetchEvent;
 import com.nimbusds.jose.jwk.JWKSet;
 import com.nimbusds.jose.jwk.RSAKey;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.stereotype.Service;
 
-import java.net.URL;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 /**
  * Service to fetch and cache JWK (JSON Web Key) from the auth server.
  * Implements thread-safe caching with automatic refresh.
+ * With a {@link LocalKeySource} (auth server in the same JVM) keys are read from it directly.
  */
-@Service
 public class JwkService {
 
     private static final Logger log = LoggerFactory.getLogger(JwkService.class);
 
     private final AuthoForgeProperties properties;
+    private final JwkSetFetcher fetcher;
+    private final LocalKeySource localKeySource;
     private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
 
     private JWKSet cachedJwkSet;
+    private String cachedEtag;
     private Instant cacheExpiry;
+    // start of the last successful fetch, a pushed set received before it is older than what we hold
+    private Instant lastFetchStartedAt;
 
     public JwkService(AuthoForgeProperties properties) {
+        this(properties, new JwkSetFetcher(properties));
+    }
+
+    public JwkService(AuthoForgeProperties properties, JwkSetFetcher fetcher) {
+        this.properties = properties;
+        this.fetcher = fetcher;
+        this.localKeySource = null;
+    }
+
+    /**
+     * Reads keys in memory from an auth server in this JVM, no HTTP, no cache to expire.
+     */
+    public JwkService(AuthoForgeProperties properties, LocalKeySource localKeySource) {
         this.properties = properties;
+        this.fetcher = null;
+        this.localKeySource = localKeySource;
     }
 
     /**
@@ -35,7 +55,7 @@ public class JwkService {
      * Fetches from cache or refreshes if expired.
      */
     public RSAKey getPublicKey(String keyId) {
-        JWKSet jwkSet = getJwkSet();
+        JWKSet jwkSet = localKeySource != null ? localKeySource.currentKeys() : getJwkSet();
         
         try {
             return (RSAKey) jwkSet.getKeyByKeyId(keyId);
@@ -60,6 +80,7 @@ public class JwkService {
         }
 
         // Cache expired or missing, acquire write lock to refresh
+        JwksFetchEvent fetchEvent = null;
         lock.writeLock().lock();
         try {
             // Double-check in case another thread already refreshed
@@ -67,14 +88,39 @@ public class JwkService {
                 return cachedJwkSet;
             }
 
-            // Fetch fresh JWK set
+            // Fetch fresh JWK set, revalidating with the ETag we already hold
             log.info("Fetching JWK set from: {}", properties.getJwkSetUri());
-            cachedJwkSet = JWKSet.load(new URL(properties.getJwkSetUri()));
-            cacheExpiry = Instant.now().plusSeconds(properties.getJwkCacheDurationMinutes() * 60);
+            Instant fetchStartedAt = Instant.now();
+            fetchEvent = new JwksFetchEvent();
+            fetchEvent.begin();
+            JwkSetFetcher.Result result = fetcher.fetch(cachedJwkSet != null ? cachedEtag : null);
+            recordFetch(fetchEvent, result.statusCode(), result.bytes(), null);
+            fetchEvent = null;
+            lastFetchStartedAt = fetchStartedAt;
+            if (result.notModified()) {
+                log.debug("JWK set not modified, keeping cached keys");
+            } else {
+                cachedJwkSet = result.jwkSet();
+            }
+            cachedEtag = result.etag();
+            cacheExpiry = Instant.now().plus(refreshInterval(result.maxAge()));
             log.info("JWK set cached successfully, expires at: {}", cacheExpiry);
 
             return cachedJwkSet;
         } catch (Exception e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            if (fetchEvent != null) {
+                int status = e instanceof JwkSetFetcher.UnexpectedStatusException unexpected ? unexpected.getStatusCode() : 0;
+                recordFetch(fetchEvent, status, 0, e.toString());
+            }
+            if (cachedJwkSet != null) {
+                // Keep serving the last known keys and retry after the minimum interval
+                log.warn("Failed to refresh JWK set from {}, serving cached keys: {}", properties.getJwkSetUri(), e.getMessage());
+                cacheExpiry = Instant.now().plusSeconds(properties.getJwkMinRefreshSeconds());
+                return cachedJwkSet;
+            }
             log.error("Failed to fetch JWK set from {}", properties.getJwkSetUri(), e);
             throw new RuntimeException("Failed to fetch JWK set", e);
         } finally {
@@ -82,10 +128,68 @@ public class JwkService {
         }
     }
 
+    private void recordFetch(JwksFetchEvent event, int status, long bytes, String error) {
+        if (event.shouldCommit()) {
+            event.uri = properties.getJwkSetUri();
+            event.status = status;
+            event.bytes = bytes;
+            event.error = error;
+            event.commit();
+        }
+    }
+
+    /**
+     * Server max-age when allowed and present, otherwise the configured cache duration.
+     * Never below jwkMinRefreshSeconds.
+     */
+    private Duration refreshInterval(Duration serverMaxAge) {
+        Duration interval = properties.isJwkRespectCacheControl() && serverMaxAge != null
+                ? serverMaxAge
+                : Duration.ofMinutes(properties.getJwkCacheDurationMinutes());
+        Duration floor = Duration.ofSeconds(properties.getJwkMinRefreshSeconds());
+        return interval.compareTo(floor) < 0 ? floor : interval;
+    }
+
+    /**
+     * Installs a key set pushed by the change stream and keeps the cache fresh until
+     * {@code freshUntil}. With {@code jwkSet} null (no change) only the freshness is extended.
+     * Once pushes stop arriving the cache expires and regular polling takes over again.
+     * <p>
+     * A set received before the last successful fetch started is older than the fetched one and
+     * is dropped, otherwise a slow push could bring back a rotated-out key set. A push received
+     * while a fetch was in flight can't be ordered and is installed; should it be the older one,
+     * the change stream answers the next poll right away and corrects it.
+     *
+     * @param receivedAt when the pushed response arrived
+     */
+    public void acceptPushed(JWKSet jwkSet, String etag, Instant freshUntil, Instant receivedAt) {
+        if (localKeySource != null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (jwkSet != null && lastFetchStartedAt != null && receivedAt.isBefore(lastFetchStartedAt)) {
+                log.debug("Pushed JWK set predates the last fetch, keeping the fetched one");
+            } else if (jwkSet != null) {
+                cachedJwkSet = jwkSet;
+                cachedEtag = etag;
+                log.info("JWK set updated from change stream");
+            }
+            if (cachedJwkSet != null && (cacheExpiry == null || freshUntil.isAfter(cacheExpiry))) {
+                cacheExpiry = freshUntil;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
     /**
      * Force refresh of the JWK cache (useful for key rotation).
      */
     public void refreshCache() {
+        if (localKeySource != null) {
+            return;
+        }
         lock.writeLock().lock();
         try {
             cacheExpiry = Instant.now().minusSeconds(1); // Force expiry
@@ -0,0 +1,125 @@
+package com.adarsh.autho.forge.service;
+
+import com.adarsh.autho.forge.config.AuthoForgeProperties;
+import com.nimbusds.jose.jwk.JWKSet;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * HTTP client for the auth server's JWK set endpoint.
+ * Reuses pooled keep-alive connections, bounds every call with connect/read timeouts
+ * and revalidates with If-None-Match so an unchanged document costs a 304 only.
+ */
+public class JwkSetFetcher {
+
+    private final HttpClient httpClient;
+    private final URI jwkSetUri;
+    private final Duration readTimeout;
+
+    public JwkSetFetcher(AuthoForgeProperties properties) {
+        String uri = properties.getJwkSetUri();
+        if (uri == null || uri.isBlank()) {
+            throw new IllegalStateException("autho.forge.jwk-set-uri must be set to fetch keys from the auth server");
+        }
+        this.jwkSetUri = URI.create(uri);
+        this.readTimeout = Duration.ofMillis(properties.getJwkReadTimeoutMillis());
+        // HttpClient keeps idle connections alive and reuses them across fetches
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofMillis(properties.getJwkConnectTimeoutMillis()))
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+    }
+
+    /**
+     * Fetch the JWK set, sending {@code etag} as If-None-Match when present.
+     */
+    public Result fetch(String etag) throws IOException, InterruptedException, ParseException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(jwkSetUri)
+                .timeout(readTimeout)
+                .header("Accept", "application/json")
+                .GET();
+        if (etag != null) {
+            request.header("If-None-Match", etag);
+        }
+
+        HttpResponse<byte[]> response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+        Duration maxAge = parseMaxAge(response.headers().firstValue("Cache-Control")).orElse(null);
+
+        if (response.statusCode() == 304) {
+            return new Result(null, etag, maxAge, 304, 0);
+        }
+        if (response.statusCode() != 200) {
+            throw new UnexpectedStatusException(response.statusCode(), "Unexpected HTTP " + response.statusCode() + " from " + jwkSetUri);
+        }
+
+        byte[] body = response.body();
+        return new Result(JWKSet.parse(new String(body, StandardCharsets.UTF_8)), response.headers().firstValue("ETag").orElse(null),
+                maxAge, 200, body.length);
+    }
+
+    /**
+     * Extracts max-age from a Cache-Control header; no-cache/no-store count as zero.
+     */
+    static Optional<Duration> parseMaxAge(Optional<String> cacheControl) {
+        if (cacheControl.isEmpty()) {
+            return Optional.empty();
+        }
+        for (String directive : cacheControl.get().split(",")) {
+            String d = directive.trim().toLowerCase(Locale.ROOT);
+            if (d.equals("no-cache") || d.equals("no-store")) {
+                return Optional.of(Duration.ZERO);
+            }
+            if (d.startsWith("max-age=")) {
+                try {
+                    return Optional.of(Duration.ofSeconds(Long.parseLong(d.substring("max-age=".length()).replace("\"", ""))));
+                } catch (NumberFormatException ignored) {
+                    return Optional.empty();
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * The endpoint answered with something other than 200 or 304.
+     */
+    public static class UnexpectedStatusException extends IOException {
+
+        private final int statusCode;
+
+        public UnexpectedStatusException(int statusCode, String message) {
+            super(message);
+            this.statusCode = statusCode;
+        }
+
+        public int getStatusCode() {
+            return statusCode;
+        }
+    }
+
+    /**
+     * Outcome of one fetch.
+     *
+     * @param jwkSet     the parsed set, or null when the server answered 304 Not Modified
+     * @param etag       entity tag to revalidate with next time
+     * @param maxAge     server-provided freshness lifetime, or null if absent
+     * @param statusCode HTTP status returned by the server
+     * @param bytes      size of the received body in bytes
+     */
+    public record Result(JWKSet jwkSet, String etag, Duration maxAge, int statusCode, long bytes) {
+
+        public boolean notModified() {
+            return jwkSet == null;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.adarsh.autho.forge.service;
+
+import com.adarsh.autho.forge.security.AuthoritySet;
+import com.adarsh.autho.forge.security.JwtAuthenticationToken;
+import com.nimbusds.jwt.JWTClaimsSet;
+
+/**
+ * Outcome of validating one token. Expected failures (bad signature, expired, ...) are
+ * reported here instead of being thrown, so batch callers get one result per token.
+ *
+ * @param failure null when the token is valid
+ * @param claims  verified JWT claims, null for reference tokens and failures
+ */
+public record JwtValidationResult(
+        String token,
+        Failure failure,
+        String message,
+        String userId,
+        String username,
+        AuthoritySet authorities,
+        JWTClaimsSet claims) {
+
+    public enum Failure {
+        /** Not a parseable JWS (or an empty token) */
+        MALFORMED,
+        /** No 'kid' in the JWS header */
+        MISSING_KEY_ID,
+        /** 'kid' not in the auth server's key set */
+        UNKNOWN_KEY,
+        INVALID_SIGNATURE,
+        INVALID_ISSUER,
+        EXPIRED,
+        /** Reference token unknown, revoked or expired according to introspection */
+        INACTIVE,
+        /** Key set or introspection endpoint unreachable, or an unexpected error; the token itself may be fine */
+        UNAVAILABLE
+    }
+
+    static JwtValidationResult valid(String token, String userId, String username,
+                                     AuthoritySet authorities, JWTClaimsSet claims) {
+        return new JwtValidationResult(token, null, null, userId, username, authorities, claims);
+    }
+
+    static JwtValidationResult invalid(String token, Failure failure, String message) {
+        return new JwtValidationResult(token, failure, message, null, null, AuthoritySet.EMPTY, null);
+    }
+
+    public boolean isValid() {
+        return failure == null;
+    }
+
+    /**
+     * Spring Security authentication for a valid result.
+     *
+     * @throws IllegalStateException when the token was rejected
+     */
+    public JwtAuthenticationToken toAuthentication() {
+        if (!isValid()) {
+            throw new IllegalStateException("Token rejected (" + failure + "): " + message);
+        }
+        return new JwtAuthenticationToken(userId, username, token, authorities);
+    }
+}
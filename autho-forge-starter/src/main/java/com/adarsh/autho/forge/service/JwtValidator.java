@@ -0,0 +1,248 @@
+package com.adarsh.autho.forge.service;
+
+import com.adarsh.autho.forge.config.AuthoForgeProperties;
+import com.adarsh.autho.forge.jfr.TokenVerificationEvent;
+import com.adarsh.autho.forge.security.AuthoritySet;
+import com.adarsh.autho.forge.service.IntrospectionClient.IntrospectionResult;
+import com.adarsh.autho.forge.service.JwtValidationResult.Failure;
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.crypto.RSASSAVerifier;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Validates access tokens (JWTs and, when enabled, opaque reference tokens) outside of any servlet.
+ * <p>
+ * Thread-safe and meant to be shared: the JWK set, the per-key verifiers and the decoded
+ * authorities are all cached, so HTTP requests, message consumers and gRPC calls
+ * take the same fast path. {@link #verifyAll(List)} fans a batch out over the executor.
+ */
+public class JwtValidator {
+
+    private record CachedVerifier(RSAKey key, RSASSAVerifier verifier) {
+    }
+
+    private final JwkService jwkService;
+    private final AuthoForgeProperties properties;
+    private final ReferenceTokenResolver referenceTokenResolver;
+    private final AuthorityDecoder authorityDecoder;
+    private final Executor executor;
+    private final int parallelism;
+
+    private final Map<String, CachedVerifier> verifiers = new ConcurrentHashMap<>();
+
+    /**
+     * @param referenceTokenResolver resolver for opaque reference tokens, null to accept JWTs only
+     * @param executor               runs the batch fan-out of {@link #verifyAll(List)}
+     * @param parallelism            upper bound on executor tasks per batch
+     */
+    public JwtValidator(JwkService jwkService, AuthoForgeProperties properties,
+                        ReferenceTokenResolver referenceTokenResolver, AuthorityDecoder authorityDecoder,
+                        Executor executor, int parallelism) {
+        this.jwkService = jwkService;
+        this.properties = properties;
+        this.referenceTokenResolver = referenceTokenResolver;
+        this.authorityDecoder = authorityDecoder;
+        this.executor = executor;
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    /**
+     * Validates one token on the calling thread. Never throws, unexpected errors are reported
+     * as {@link Failure#UNAVAILABLE} so callers can always answer 401.
+     */
+    public JwtValidationResult verify(String token) {
+        TokenVerificationEvent event = new TokenVerificationEvent();
+        event.begin();
+        JwtValidationResult result;
+        try {
+            result = verify(token, event);
+        } catch (RuntimeException e) {
+            result = JwtValidationResult.invalid(token, Failure.UNAVAILABLE, "Token verification failed: " + e);
+        }
+        if (event.shouldCommit()) {
+            event.outcome = result.isValid() ? "VALID" : result.failure().name();
+            event.commit();
+        }
+        return result;
+    }
+
+    private JwtValidationResult verify(String token, TokenVerificationEvent event) {
+        if (token == null || token.isBlank()) {
+            return JwtValidationResult.invalid(token, Failure.MALFORMED, "Empty token");
+        }
+        // A JWS compact serialization always has two dots, reference tokens have none
+        if (referenceTokenResolver != null && token.indexOf('.') < 0) {
+            event.referenceToken = true;
+            return verifyReferenceToken(token);
+        }
+        return verifyJwt(token, event);
+    }
+
+    /**
+     * Validates a batch, results are in the order of {@code tokens}.
+     * <p>
+     * The calling thread works through the batch alongside up to {@code parallelism - 1}
+     * executor tasks, so a saturated (or rejecting) executor slows a batch down but never
+     * deadlocks it, even when verifyAll itself runs on that executor.
+     */
+    public List<JwtValidationResult> verifyAll(List<String> tokens) {
+        int size = tokens.size();
+        JwtValidationResult[] results = new JwtValidationResult[size];
+        if (size <= 1 || parallelism == 1) {
+            for (int i = 0; i < size; i++) {
+                results[i] = verify(tokens.get(i));
+            }
+            return Arrays.asList(results);
+        }
+
+        AtomicInteger next = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(size);
+        Runnable worker = () -> {
+            int i;
+            while ((i = next.getAndIncrement()) < size) {
+                try {
+                    results[i] = verify(tokens.get(i));
+                } finally {
+                    done.countDown();
+                }
+            }
+        };
+
+        int helpers = Math.min(parallelism, size) - 1;
+        for (int h = 0; h < helpers; h++) {
+            try {
+                executor.execute(worker);
+            } catch (RejectedExecutionException e) {
+                break;
+            }
+        }
+        worker.run();
+
+        try {
+            // only tokens already claimed by a running helper can still be pending
+            done.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for batch verification", e);
+        }
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Drop cached verifiers, e.g. together with {@link JwkService#refreshCache()}.
+     */
+    public void clearCache() {
+        verifiers.clear();
+    }
+
+    private JwtValidationResult verifyJwt(String token, TokenVerificationEvent event) {
+        SignedJWT signedJWT;
+        JWTClaimsSet claims;
+        try {
+            signedJWT = SignedJWT.parse(token);
+            claims = signedJWT.getJWTClaimsSet();
+        } catch (ParseException e) {
+            return JwtValidationResult.invalid(token, Failure.MALFORMED, e.getMessage());
+        }
+
+        // Get Key ID from header
+        String keyId = signedJWT.getHeader().getKeyID();
+        if (keyId == null) {
+            return JwtValidationResult.invalid(token, Failure.MISSING_KEY_ID, "JWT missing 'kid' in header");
+        }
+        event.keyId = keyId;
+
+        // Verify signature with the (cached) verifier for this key
+        RSASSAVerifier verifier;
+        try {
+            verifier = verifierFor(keyId, event);
+        } catch (RuntimeException | JOSEException e) {
+            return JwtValidationResult.invalid(token, Failure.UNAVAILABLE, e.getMessage());
+        }
+        if (verifier == null) {
+            return JwtValidationResult.invalid(token, Failure.UNKNOWN_KEY, "Public key not found for kid: " + keyId);
+        }
+        try {
+            if (!signedJWT.verify(verifier)) {
+                return JwtValidationResult.invalid(token, Failure.INVALID_SIGNATURE, "JWT signature verification failed");
+            }
+        } catch (JOSEException e) {
+            return JwtValidationResult.invalid(token, Failure.INVALID_SIGNATURE, e.getMessage());
+        }
+
+        // Validate issuer
+        if (!properties.getIssuer().equals(claims.getIssuer())) {
+            return JwtValidationResult.invalid(token, Failure.INVALID_ISSUER, "Invalid issuer: " + claims.getIssuer());
+        }
+
+        // Validate expiration
+        if (claims.getExpirationTime() == null || claims.getExpirationTime().getTime() < System.currentTimeMillis()) {
+            return JwtValidationResult.invalid(token, Failure.EXPIRED, "Token expired");
+        }
+
+        try {
+            // Role + permission bitset, decoded once per distinct combination
+            AuthoritySet authorities = authorityDecoder.decode(
+                    claims.getStringClaim("roles"), claims.getStringClaim("perms"), claims.getIntegerClaim("perms_ver"));
+            return JwtValidationResult.valid(
+                    token, claims.getSubject(), claims.getStringClaim("username"), authorities, claims);
+        } catch (ParseException e) {
+            return JwtValidationResult.invalid(token, Failure.MALFORMED, e.getMessage());
+        }
+    }
+
+    /**
+     * Resolve an opaque reference token through (cached) introspection
+     */
+    private JwtValidationResult verifyReferenceToken(String token) {
+        IntrospectionResult result;
+        try {
+            result = referenceTokenResolver.resolve(token);
+        } catch (RuntimeException e) {
+            return JwtValidationResult.invalid(token, Failure.UNAVAILABLE, e.getMessage());
+        }
+        if (!result.active()) {
+            return JwtValidationResult.invalid(token, Failure.INACTIVE, "Reference token is not active");
+        }
+        AuthoritySet authorities = authorityDecoder.decode(result.roles(), null, null);
+        return JwtValidationResult.valid(token, result.subject(), result.username(), authorities, null);
+    }
+
+    /**
+     * Building an RSASSAVerifier converts the JWK into a JCA key, so it's done once per key.
+     * A refreshed key set hands out new RSAKey instances, which replaces the cached verifier.
+     */
+    private RSASSAVerifier verifierFor(String keyId, TokenVerificationEvent event) throws JOSEException {
+        RSAKey key = jwkService.getPublicKey(keyId);
+        if (key == null) {
+            return null;
+        }
+        CachedVerifier cached = verifiers.get(keyId);
+        if (cached != null && cached.key() == key) {
+            event.verifierCached = true;
+            return cached.verifier();
+        }
+        CachedVerifier created = new CachedVerifier(key, new RSASSAVerifier(key));
+        verifiers.put(keyId, created);
+        if (verifiers.size() > 64) {
+            // rotated-out keys linger otherwise, keep only the current one
+            List<String> stale = new ArrayList<>(verifiers.keySet());
+            stale.remove(keyId);
+            stale.forEach(verifiers::remove);
+        }
+        return created.verifier();
+    }
+}
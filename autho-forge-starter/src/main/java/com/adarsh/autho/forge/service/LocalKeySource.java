@@ -0,0 +1,19 @@
+package com.adarsh.autho.forge.service;
+
+import com.nimbusds.jose.jwk.JWKSet;
+
+/**
+ * Public keys of an auth server running in the same JVM. When a bean of this type exists,
+ * {@link JwkService} reads keys from it instead of fetching the JWKS over HTTP, and the
+ * change stream subscription is not started.
+ */
+public interface LocalKeySource {
+
+    /**
+     * The currently published public keys, the same set the JWKS endpoint serves.
+     * Called for every token verification, so it must be a cheap snapshot read, and it
+     * reflects key rotation as soon as it happens. Keys are matched by identity to reuse
+     * cached verifiers, return the same instances until the keys change.
+     */
+    JWKSet currentKeys();
+}
@@ -0,0 +1,88 @@
+package com.adarsh.autho.forge.service;
+
+import com.adarsh.autho.forge.config.AuthoForgeProperties;
+import com.adarsh.autho.forge.security.PermissionRegistry;
+import com.nimbusds.jose.util.JSONObjectUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fetches the auth server's permission registry. It is only fetched again when a token
+ * references a newer version than the one held, and at most once per refetch interval.
+ */
+public class PermissionRegistryClient {
+
+    private static final Logger log = LoggerFactory.getLogger(PermissionRegistryClient.class);
+
+    private final HttpClient httpClient;
+    private final URI registryUri;
+    private final Duration readTimeout;
+    private final long minRefetchNanos;
+
+    private volatile PermissionRegistry current;
+    private long lastFetchNanos;
+    private boolean fetched;
+
+    public PermissionRegistryClient(AuthoForgeProperties properties) {
+        this.registryUri = URI.create(properties.getPermissionRegistryUri());
+        this.readTimeout = Duration.ofMillis(properties.getJwkReadTimeoutMillis());
+        this.minRefetchNanos = Duration.ofSeconds(properties.getPermissionRegistryMinRefetchSeconds()).toNanos();
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofMillis(properties.getJwkConnectTimeoutMillis()))
+                .build();
+    }
+
+    /**
+     * A registry able to decode tokens of {@code version}, or null when the server doesn't have one (yet).
+     */
+    public PermissionRegistry registryFor(int version) {
+        PermissionRegistry registry = current;
+        if (registry != null && registry.getVersion() >= version) {
+            return registry;
+        }
+        return refetch(version);
+    }
+
+    private synchronized PermissionRegistry refetch(int version) {
+        PermissionRegistry registry = current;
+        if (registry != null && registry.getVersion() >= version) {
+            return registry;
+        }
+        long now = System.nanoTime();
+        if (fetched && now - lastFetchNanos < minRefetchNanos) {
+            return null;
+        }
+        fetched = true;
+        lastFetchNanos = now;
+        try {
+            HttpResponse<String> response = httpClient.send(
+                    HttpRequest.newBuilder(registryUri).timeout(readTimeout).header("Accept", "application/json").build(),
+                    HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                log.warn("Unexpected HTTP {} from permission registry {}", response.statusCode(), registryUri);
+                return null;
+            }
+            Map<String, Object> body = JSONObjectUtils.parse(response.body());
+            int fetchedVersion = ((Number) body.get("version")).intValue();
+            List<String> names = JSONObjectUtils.getStringList(body, "permissions");
+            current = new PermissionRegistry(fetchedVersion, names);
+            log.info("Loaded permission registry version {} ({} permissions)", fetchedVersion, names.size());
+            return fetchedVersion >= version ? current : null;
+        } catch (Exception e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            log.warn("Failed to fetch permission registry from {}: {}", registryUri, e.getMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.adarsh.autho.forge.service;
+
+import com.adarsh.autho.forge.config.AuthoForgeProperties;
+import com.adarsh.autho.forge.service.IntrospectionClient.IntrospectionResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolves opaque reference tokens through introspection with a short-TTL local cache.
+ * Concurrent lookups of the same token share one in-flight call (single-flight),
+ * so a burst of requests with a new token costs one round trip.
+ */
+public class ReferenceTokenResolver {
+
+    private static final Logger log = LoggerFactory.getLogger(ReferenceTokenResolver.class);
+
+    private record CachedResult(IntrospectionResult result, long expiresAtMillis) {
+    }
+
+    private final IntrospectionClient client;
+    private final long positiveTtlMillis;
+    private final long negativeTtlMillis;
+    private final int maxEntries;
+
+    private final ConcurrentHashMap<String, CachedResult> cache = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, CompletableFuture<IntrospectionResult>> inFlight = new ConcurrentHashMap<>();
+
+    public ReferenceTokenResolver(IntrospectionClient client, AuthoForgeProperties properties) {
+        this.client = client;
+        this.positiveTtlMillis = properties.getIntrospectionCacheTtlSeconds() * 1000;
+        this.negativeTtlMillis = properties.getIntrospectionNegativeCacheTtlSeconds() * 1000;
+        this.maxEntries = properties.getIntrospectionCacheMaxEntries();
+    }
+
+    public IntrospectionResult resolve(String token) {
+        long now = System.currentTimeMillis();
+        CachedResult cached = cache.get(token);
+        if (cached != null && cached.expiresAtMillis() > now) {
+            return cached.result();
+        }
+
+        CompletableFuture<IntrospectionResult> mine = new CompletableFuture<>();
+        CompletableFuture<IntrospectionResult> existing = inFlight.putIfAbsent(token, mine);
+        if (existing != null) {
+            return join(existing);
+        }
+
+        try {
+            IntrospectionResult result = client.introspect(token);
+            store(token, result, System.currentTimeMillis());
+            mine.complete(result);
+            return result;
+        } catch (Exception e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            log.error("Token introspection failed: {}", e.getMessage());
+            RuntimeException failure = new RuntimeException("Token introspection failed", e);
+            mine.completeExceptionally(failure);
+            throw failure;
+        } finally {
+            inFlight.remove(token, mine);
+        }
+    }
+
+    /**
+     * Drop all cached results, e.g. after a revocation broadcast.
+     */
+    public void invalidateAll() {
+        cache.clear();
+    }
+
+    private void store(String token, IntrospectionResult result, long now) {
+        long ttl = result.active() ? positiveTtlMillis : negativeTtlMillis;
+        // never cache an active result past the token's own expiry
+        long expiresAt = result.active() && result.exp() > 0
+                ? Math.min(now + ttl, result.exp() * 1000)
+                : now + ttl;
+
+        if (cache.size() >= maxEntries) {
+            cache.values().removeIf(c -> c.expiresAtMillis() <= now);
+            if (cache.size() >= maxEntries) {
+                // still full of live entries, start over rather than grow without bound
+                cache.clear();
+            }
+        }
+        cache.put(token, new CachedResult(result, expiresAt));
+    }
+
+    private IntrospectionResult join(CompletableFuture<IntrospectionResult> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException re ? re : e;
+        }
+    }
+}
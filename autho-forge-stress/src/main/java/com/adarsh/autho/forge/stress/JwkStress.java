@@ -0,0 +1,345 @@
+package com.adarsh.autho.forge.stress;
+
+import com.adarsh.autho.forge.config.AuthoForgeProperties;
+import com.adarsh.autho.forge.service.JwkService;
+import com.adarsh.autho.forge.service.JwkSetFetcher;
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Hammers one {@link JwkService} from many threads against a scripted auth server that rotates
+ * keys every few milliseconds, hands out tiny max-ages (so the cache is expiring all the time),
+ * fails a share of the fetches and pushes new sets like the change stream does. Meanwhile a
+ * thread keeps invalidating the cache, so refreshes, expiries, invalidations and pushes
+ * interleave in every possible order.
+ * <p>
+ * Generation {@code g} of the server publishes {@code k-(g-1)} and {@code k-g}. Invariants:
+ * <ul>
+ *     <li>wrong-key: a returned key has the requested kid and that generation's key material</li>
+ *     <li>phantom-key: a kid that was never published is never returned</li>
+ *     <li>key-lost: once found, a kid stays found while the server still publishes it (except right
+ *         after a push that raced a fetch, which the next push corrects)</li>
+ *     <li>stale-key: a new kid is found within max-age + twice the fetch delay + slack of its
+ *         publication, unless a fetch failed meanwhile</li>
+ *     <li>stale-after-invalidate: after refreshCache() returns, the current kid is found</li>
+ *     <li>concurrent-fetch: never more than one fetch in flight</li>
+ *     <li>unavailable: no exception once a key set has been fetched</li>
+ * </ul>
+ */
+final class JwkStress {
+
+    static final String COMMAND = "jwk";
+
+    // key generation is slow, rotated kids reuse these with a new kid
+    private static final int KEY_MATERIALS = 8;
+
+    private record Published(long generation, JWKSet jwkSet, String etag) {
+    }
+
+    private final StressOptions options;
+    private final Violations violations = new Violations();
+    private final RSAKey[] materials = new RSAKey[KEY_MATERIALS];
+    private final Map<Long, Long> publishedAt = new ConcurrentHashMap<>();
+    private final Map<Long, Long> firstFoundAt = new ConcurrentHashMap<>();
+    private final JwkService jwkService;
+    private final long staleBoundNanos;
+
+    private volatile Published published;
+    private volatile boolean running = true;
+    private volatile boolean fetchedOnce;
+    private volatile long regressionAllowedUntil = System.nanoTime();
+
+    private final AtomicLong reads = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong fetches = new AtomicLong();
+    private final AtomicLong notModified = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicLong lastFailureNanos = new AtomicLong(System.nanoTime() - Duration.ofHours(1).toNanos());
+    private final AtomicLong lastFetchStartNanos = new AtomicLong(System.nanoTime() - Duration.ofHours(1).toNanos());
+    private final AtomicLong pushes = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+
+    private JwkStress(StressOptions options) throws JOSEException {
+        this.options = options;
+        for (int i = 0; i < KEY_MATERIALS; i++) {
+            materials[i] = new RSAKeyGenerator(2048).generate().toPublicJWK();
+        }
+        AuthoForgeProperties properties = new AuthoForgeProperties();
+        properties.setJwkSetUri("http://scripted.invalid/.well-known/jwks.json");
+        properties.setJwkRespectCacheControl(true);
+        // no floor, the scripted max-age alone decides when the cache expires
+        properties.setJwkMinRefreshSeconds(0);
+        this.jwkService = new JwkService(properties, new ScriptedFetcher(properties));
+        this.staleBoundNanos = options.maxAge.plus(options.fetchDelay.multipliedBy(2)).plus(options.staleSlack).toNanos();
+        publish(1);
+    }
+
+    static boolean run(StressOptions options) throws Exception {
+        return new JwkStress(options).execute();
+    }
+
+    private boolean execute() throws InterruptedException {
+        System.out.printf("jwk: %d readers, rotate every %s, invalidate every %s, max-age <= %s, fetch delay <= %s, "
+                        + "failure rate %.2f, push %s, for %s%n",
+                readers(), options.rotateEvery, options.invalidateEvery, options.maxAge, options.fetchDelay,
+                options.failureRate, options.push, options.duration);
+
+        List<Thread> threads = new ArrayList<>();
+        threads.add(start("rotator", this::rotate));
+        threads.add(start("invalidator", this::invalidate));
+        if (options.push) {
+            threads.add(start("pusher", this::push));
+        }
+        for (int i = 0; i < readers(); i++) {
+            SplittableRandom random = new SplittableRandom(options.seed + i);
+            threads.add(start("reader-" + i, () -> read(random)));
+        }
+
+        long start = System.nanoTime();
+        long end = start + options.duration.toNanos();
+        long nextReport = start + options.reportEvery.toNanos();
+        while (System.nanoTime() < end) {
+            Thread.sleep(Math.min(100, Math.max(1, (end - System.nanoTime()) / 1_000_000)));
+            if (System.nanoTime() >= nextReport) {
+                printProgress(start);
+                nextReport += options.reportEvery.toNanos();
+            }
+        }
+        running = false;
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        printProgress(start);
+        System.out.printf("  fetches %d (304: %d, failed: %d), pushes %d, invalidations %d, max concurrent fetches %d%n",
+                fetches.get(), notModified.get(), failures.get(), pushes.get(), invalidations.get(), maxInFlight.get());
+        violations.print(System.out);
+        return violations.total() == 0;
+    }
+
+    private int readers() {
+        return options.threads - (options.push ? 3 : 2);
+    }
+
+    private Thread start(String name, Runnable body) {
+        Thread thread = new Thread(body, "jwk-" + name);
+        thread.start();
+        return thread;
+    }
+
+    private void printProgress(long start) {
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("  %6.1fs  generation %d, %d reads (%.0f/s), %d misses, %d fetches, %d violations%n",
+                seconds, published.generation(), reads.get(), reads.get() / seconds, misses.get(), fetches.get(),
+                violations.total());
+    }
+
+    // ---------------------------------------------------------------- scripted server
+
+    private void publish(long generation) {
+        List<JWK> keys = new ArrayList<>();
+        if (generation > 1) {
+            keys.add(key(generation - 1));
+        }
+        keys.add(key(generation));
+        publishedAt.put(generation, System.nanoTime());
+        publishedAt.remove(generation - 64);
+        firstFoundAt.remove(generation - 64);
+        published = new Published(generation, new JWKSet(keys), "\"g-" + generation + "\"");
+    }
+
+    private RSAKey key(long generation) {
+        RSAKey material = materials[(int) (generation % KEY_MATERIALS)];
+        return new RSAKey.Builder(material).keyID(kid(generation)).build();
+    }
+
+    private static String kid(long generation) {
+        return "k-" + generation;
+    }
+
+    private void rotate() {
+        long generation = published.generation();
+        while (running) {
+            LockSupport.parkNanos(options.rotateEvery.toNanos());
+            publish(++generation);
+        }
+    }
+
+    /**
+     * Sequential like the change stream subscriber: sees a rotation, spends a network delay,
+     * then installs what it saw. Between two rotations it only extends the lease.
+     */
+    private void push() {
+        Duration lease = options.maxAge.multipliedBy(10);
+        long sent = 0;
+        long sentAt = System.nanoTime();
+        while (running) {
+            Published current = published;
+            long snapshotAt = System.nanoTime();
+            if (current.generation() == sent && snapshotAt - sentAt < lease.toNanos() / 2) {
+                LockSupport.parkNanos(1_000_000);
+                continue;
+            }
+            sleepUpTo(options.fetchDelay);
+            Instant receivedAt = Instant.now();
+            if (lastFetchStartNanos.get() > snapshotAt) {
+                // a fetch started while this push was on the wire, JwkService can't order the two and
+                // may install the older set; the next push (right away, the generation moved) fixes it
+                regressionAllowedUntil = System.nanoTime() + staleBoundNanos;
+            }
+            boolean changed = current.generation() != sent;
+            jwkService.acceptPushed(changed ? current.jwkSet() : null, current.etag(), receivedAt.plus(lease), receivedAt);
+            pushes.incrementAndGet();
+            sent = current.generation();
+            sentAt = System.nanoTime();
+        }
+    }
+
+    private void invalidate() {
+        while (running) {
+            LockSupport.parkNanos(options.invalidateEvery.toNanos());
+            Published before = published;
+            jwkService.refreshCache();
+            invalidations.incrementAndGet();
+            long invalidatedAt = System.nanoTime();
+            RSAKey key;
+            try {
+                key = jwkService.getPublicKey(kid(before.generation()));
+            } catch (RuntimeException e) {
+                continue; // covered by the readers
+            }
+            Published after = published;
+            if (key == null && after.generation() <= before.generation() + 1 && lastFailureNanos.get() < invalidatedAt
+                    && !regressionAllowed(invalidatedAt)) {
+                violations.record("stale-after-invalidate", String.format(
+                        "%s missing right after refreshCache(), server at generation %d", kid(before.generation()),
+                        after.generation()));
+            }
+        }
+    }
+
+    private void read(SplittableRandom random) {
+        while (running) {
+            Published current = published;
+            long generation = current.generation();
+            int dice = random.nextInt(10);
+            boolean unknown = dice == 0;
+            long wanted = dice == 1 && generation > 1 ? generation - 1 : generation;
+            String kid = unknown ? "unknown-" + random.nextInt(1000) : kid(wanted);
+            boolean seenBefore = firstFoundAt.containsKey(wanted);
+
+            long startedAt = System.nanoTime();
+            RSAKey key;
+            try {
+                key = jwkService.getPublicKey(kid);
+            } catch (RuntimeException e) {
+                if (fetchedOnce) {
+                    violations.record("unavailable", kid + ": " + e.getMessage());
+                }
+                continue;
+            }
+            reads.incrementAndGet();
+            long generationAfter = published.generation();
+
+            if (key != null) {
+                if (unknown) {
+                    violations.record("phantom-key", "got a key for never published " + kid);
+                } else if (!kid.equals(key.getKeyID())
+                        || !key.getModulus().equals(materials[(int) (wanted % KEY_MATERIALS)].getModulus())) {
+                    violations.record("wrong-key", "asked for " + kid + ", got " + key.getKeyID() + " with other material");
+                } else {
+                    firstFoundAt.putIfAbsent(wanted, startedAt);
+                }
+                continue;
+            }
+            if (unknown) {
+                continue;
+            }
+            misses.incrementAndGet();
+            // only judge kids the server published for the whole call
+            if (generationAfter > wanted + 1) {
+                continue;
+            }
+            if (seenBefore && !regressionAllowed(startedAt)) {
+                violations.record("key-lost", String.format("%s was found before, missing now with the server at generation %d",
+                        kid, generationAfter));
+                continue;
+            }
+            Long publishedNanos = publishedAt.get(wanted);
+            if (publishedNanos != null && startedAt - publishedNanos > staleBoundNanos
+                    && lastFailureNanos.get() < publishedNanos) {
+                violations.record("stale-key", String.format("%s still missing %d ms after publication",
+                        kid, (startedAt - publishedNanos) / 1_000_000));
+            }
+        }
+    }
+
+    private boolean regressionAllowed(long nanos) {
+        return regressionAllowedUntil - nanos > 0;
+    }
+
+    private static void sleepUpTo(Duration max) {
+        long nanos = max.toNanos();
+        if (nanos > 0) {
+            LockSupport.parkNanos(ThreadLocalRandom.current().nextLong(nanos + 1));
+        }
+    }
+
+    /**
+     * The auth server as JwkService sees it: a delay, sometimes a failure, otherwise the current
+     * generation (or 304 for the ETag it already holds) with a short random max-age.
+     */
+    private final class ScriptedFetcher extends JwkSetFetcher {
+
+        ScriptedFetcher(AuthoForgeProperties properties) {
+            super(properties);
+        }
+
+        @Override
+        public Result fetch(String etag) throws IOException {
+            int concurrent = inFlight.incrementAndGet();
+            try {
+                if (maxInFlight.accumulateAndGet(concurrent, Math::max) > 1 && concurrent > 1) {
+                    violations.record("concurrent-fetch", concurrent + " fetches in flight");
+                }
+                fetches.incrementAndGet();
+                lastFetchStartNanos.set(System.nanoTime());
+                // the server answers with what it has when the request arrives, the delay is the way back
+                Published current = published;
+                sleepUpTo(options.fetchDelay);
+                if (ThreadLocalRandom.current().nextDouble() < options.failureRate) {
+                    failures.incrementAndGet();
+                    lastFailureNanos.set(System.nanoTime());
+                    throw new IOException("scripted failure");
+                }
+                Duration maxAge = Duration.ofMillis(ThreadLocalRandom.current().nextLong(options.maxAge.toMillis() + 1));
+                fetchedOnce = true;
+                if (current.etag().equals(etag)) {
+                    notModified.incrementAndGet();
+                    return new Result(null, etag, maxAge, 304, 0);
+                }
+                return new Result(current.jwkSet(), current.etag(), maxAge, 200, 0);
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        }
+    }
+}
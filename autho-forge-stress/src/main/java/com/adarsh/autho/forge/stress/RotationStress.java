@@ -0,0 +1,238 @@
+package com.adarsh.autho.forge.stress;
+
+import com.adarsh.autho.forge.loadtest.ServerProcess;
+import com.nimbusds.jose.util.JSONObjectUtils;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Races concurrent refreshes of one refresh token against a real auth service, round after round,
+ * on several independent token chains at once. Every racer is parked on a gate first, so all of
+ * them hit read-check-revoke-insert for the same token at the same moment.
+ * <p>
+ * Invariants:
+ * <ul>
+ *     <li>at-most-one-successor: of the racers rotating one token, at most one gets a new token</li>
+ *     <li>no-successor: at least one does, the token was valid and losing it logs the user out</li>
+ *     <li>replay-accepted: a rotated token is refused afterwards</li>
+ *     <li>duplicate-token: a successor is never handed out twice</li>
+ *     <li>server-error: every answer is 200 or 401</li>
+ * </ul>
+ * The service is started once per refresh token store ({@code --stores=jpa,memory}) unless
+ * {@code --auth-url} points at a running one.
+ */
+final class RotationStress {
+
+    static final String COMMAND = "rotation";
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2);
+    private static final String PASSWORD = "stress-password";
+
+    private record Answer(int status, String refreshToken) {
+    }
+
+    private final URI base;
+    private final String label;
+    private final StressOptions options;
+    private final HttpClient client;
+    private final Violations violations = new Violations();
+    private final Set<String> issued = ConcurrentHashMap.newKeySet();
+
+    private final AtomicLong rounds = new AtomicLong();
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong relogins = new AtomicLong();
+
+    private volatile long deadline;
+
+    private RotationStress(URI base, String label, StressOptions options) {
+        this.base = base;
+        this.label = label;
+        this.options = options;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    static boolean run(StressOptions options) throws Exception {
+        if (options.authUrl != null) {
+            return new RotationStress(URI.create(options.authUrl), options.authUrl, options).execute();
+        }
+        URI base = URI.create("http://localhost:" + options.authPort);
+        boolean passed = true;
+        for (String store : options.stores) {
+            try (ServerProcess server = ServerProcess.start("auth-service-" + store, options.serverJvmOptions,
+                    List.of("-jar", options.serviceJar.toString()),
+                    // one client address for every chain, the login limits would get in the way
+                    List.of("--server.port=" + options.authPort, "--autho.forge.rate-limit.enabled=false",
+                            "--autho.forge.refresh-token.store.type=" + store),
+                    base.resolve("/.well-known/jwks.json"), STARTUP_TIMEOUT, options.out, 200)) {
+                passed &= new RotationStress(base, store + " store", options).execute();
+            }
+        }
+        return passed;
+    }
+
+    private boolean execute() throws Exception {
+        System.out.printf("rotation (%s): %d chains x %d racers for %s%n", label, options.chains, options.racers, options.duration);
+        String prefix = "st" + Long.toString(System.currentTimeMillis(), 36);
+        List<String> users = new ArrayList<>();
+        for (int i = 0; i < options.chains; i++) {
+            String username = prefix + "-" + i;
+            int status = send("/auth/register", Map.of("username", username, "password", PASSWORD)).statusCode();
+            if (status != 200) {
+                throw new IOException("register of " + username + " answered " + status);
+            }
+            users.add(username);
+        }
+
+        long start = System.nanoTime();
+        deadline = start + options.duration.toNanos();
+        List<Thread> chains = new ArrayList<>();
+        for (String username : users) {
+            Thread chain = new Thread(() -> runChain(username), "rotation-" + username);
+            chain.start();
+            chains.add(chain);
+        }
+        long nextReport = start + options.reportEvery.toNanos();
+        while (System.nanoTime() < deadline) {
+            Thread.sleep(100);
+            if (System.nanoTime() >= nextReport) {
+                printProgress(start);
+                nextReport += options.reportEvery.toNanos();
+            }
+        }
+        for (Thread chain : chains) {
+            chain.join();
+        }
+
+        printProgress(start);
+        violations.print(System.out);
+        return violations.total() == 0;
+    }
+
+    private void printProgress(long start) {
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("  %6.1fs  %d rounds (%.1f/s), %d refresh requests, %d re-logins, %d violations%n",
+                seconds, rounds.get(), rounds.get() / seconds, requests.get(), relogins.get(), violations.total());
+    }
+
+    private void runChain(String username) {
+        ExecutorService racers = Executors.newFixedThreadPool(options.racers);
+        try {
+            String token = login(username);
+            while (System.nanoTime() < deadline) {
+                String successor = race(token, racers);
+                if (successor == null) {
+                    relogins.incrementAndGet();
+                    token = login(username);
+                    continue;
+                }
+                Answer replay = refresh(token);
+                if (replay.status() != 401) {
+                    violations.record("replay-accepted", "rotated token answered " + replay.status() + " on replay");
+                }
+                token = successor;
+                rounds.incrementAndGet();
+            }
+        } catch (Exception e) {
+            violations.record("chain-aborted", username + ": " + e);
+        } finally {
+            racers.shutdownNow();
+        }
+    }
+
+    /**
+     * All racers refresh {@code token} at once, returns the successor or null when nobody got one.
+     */
+    private String race(String token, ExecutorService racers) throws InterruptedException, ExecutionException {
+        CountDownLatch ready = new CountDownLatch(options.racers);
+        CountDownLatch gate = new CountDownLatch(1);
+        List<Future<Answer>> answers = new ArrayList<>();
+        for (int i = 0; i < options.racers; i++) {
+            answers.add(racers.submit(() -> {
+                ready.countDown();
+                gate.await();
+                return refresh(token);
+            }));
+        }
+        ready.await();
+        gate.countDown();
+
+        List<String> successors = new ArrayList<>();
+        for (Future<Answer> future : answers) {
+            Answer answer = future.get();
+            if (answer.status() == 200) {
+                successors.add(answer.refreshToken());
+            } else if (answer.status() != 401) {
+                violations.record("server-error", "refresh answered " + answer.status());
+            }
+        }
+        if (successors.size() > 1) {
+            violations.record("at-most-one-successor", successors.size() + " of " + options.racers
+                    + " racers rotated the same token");
+        }
+        if (successors.isEmpty()) {
+            violations.record("no-successor", "none of " + options.racers + " racers rotated a valid token");
+            return null;
+        }
+        for (String successor : successors) {
+            if (!issued.add(successor)) {
+                violations.record("duplicate-token", "a refresh token was handed out twice");
+            }
+        }
+        return successors.get(0);
+    }
+
+    private String login(String username) throws IOException, InterruptedException {
+        Answer answer = post("/auth/login", Map.of("username", username, "password", PASSWORD));
+        if (answer.status() != 200) {
+            throw new IOException("login of " + username + " answered " + answer.status());
+        }
+        issued.add(answer.refreshToken());
+        return answer.refreshToken();
+    }
+
+    private Answer refresh(String token) throws IOException, InterruptedException {
+        requests.incrementAndGet();
+        return post("/auth/refresh", Map.of("refresh_token", token));
+    }
+
+    private Answer post(String path, Map<String, Object> body) throws IOException, InterruptedException {
+        HttpResponse<String> response = send(path, body);
+        if (response.statusCode() != 200) {
+            return new Answer(response.statusCode(), null);
+        }
+        try {
+            return new Answer(200, JSONObjectUtils.getString(JSONObjectUtils.parse(response.body()), "refresh_token"));
+        } catch (ParseException e) {
+            throw new IOException("Malformed answer from " + path, e);
+        }
+    }
+
+    private HttpResponse<String> send(String path, Map<String, Object> body) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(base.resolve(path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(JSONObjectUtils.toJSONString(body)))
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+}
@@ -0,0 +1,30 @@
+package com.adarsh.autho.forge.stress;
+
+import java.util.Arrays;
+
+/**
+ * Entry point of the stress jar, exits with 1 when any invariant was violated.
+ * <pre>
+ * java -jar autho-forge-stress.jar jwk [options]       JwkService under rotation, expiry, invalidation and pushes
+ * java -jar autho-forge-stress.jar rotation [options]  concurrent refresh token rotation against the auth service
+ * java -jar autho-forge-stress.jar [all] [options]     both, one after the other
+ * </pre>
+ * Soak: the same checks with a long {@code --duration}, e.g. {@code --duration=2h --report-every=1m}.
+ */
+public class StressMain {
+
+    public static void main(String[] args) throws Exception {
+        String command = args.length > 0 && !args[0].startsWith("--") ? args[0] : "all";
+        String[] rest = args.length > 0 && !args[0].startsWith("--") ? Arrays.copyOfRange(args, 1, args.length) : args;
+        StressOptions options = StressOptions.parse(rest);
+
+        boolean passed = switch (command) {
+            case JwkStress.COMMAND -> JwkStress.run(options);
+            case RotationStress.COMMAND -> RotationStress.run(options);
+            case "all" -> JwkStress.run(options) & RotationStress.run(options);
+            default -> throw new IllegalArgumentException("Unknown command: " + command);
+        };
+        System.out.println(passed ? "PASSED" : "FAILED");
+        System.exit(passed ? 0 : 1);
+    }
+}
@@ -0,0 +1,105 @@
+package com.adarsh.autho.forge.stress;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Command line options, all given as {@code --name=value}. A long {@code --duration} turns any
+ * check into a soak run, progress is printed every {@code --report-every}.
+ */
+class StressOptions {
+
+    Duration duration = Duration.ofSeconds(20);
+    Duration reportEvery = Duration.ofSeconds(10);
+    /** Worker threads hammering JwkService */
+    int threads = 32;
+    long seed = 42;
+    Path out = Path.of("target/stress");
+
+    // --- jwk ---
+    /** How often the scripted auth server rotates to a new key */
+    Duration rotateEvery = Duration.ofMillis(25);
+    /** How often a thread force-expires the cache (refreshCache) */
+    Duration invalidateEvery = Duration.ofMillis(10);
+    /** Upper bound of the server max-age handed out with each key set, keeps the cache expiring constantly */
+    Duration maxAge = Duration.ofMillis(20);
+    /** Upper bound of the simulated network delay of a fetch or push */
+    Duration fetchDelay = Duration.ofMillis(5);
+    /** Share of fetches that fail */
+    double failureRate = 0.05;
+    /** Deliver key sets through acceptPushed as well, like the change stream does */
+    boolean push = true;
+    /** A published key must be visible this long after publication (plus max-age), unless a fetch failed meanwhile */
+    Duration staleSlack = Duration.ofMillis(250);
+
+    // --- rotation ---
+    /** Base URL of an already running auth service, the service jar is started when empty */
+    String authUrl;
+    Path serviceJar = Path.of("autho-forge-service/target/autho-forge-service-1.0.0-SNAPSHOT.jar");
+    int authPort = 18080;
+    String serverJvmOptions = "";
+    /** Refresh token stores to run against, one service start each (ignored with auth-url) */
+    List<String> stores = List.of("jpa", "memory");
+    /** Independent token chains (one user each) rotated in parallel */
+    int chains = 4;
+    /** Requests racing to rotate the same token in every round */
+    int racers = 8;
+
+    static StressOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (!arg.startsWith("--") || eq < 0) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            values.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+
+        StressOptions options = new StressOptions();
+        if (values.containsKey("duration")) options.duration = parseDuration(values.remove("duration"));
+        if (values.containsKey("report-every")) options.reportEvery = parseDuration(values.remove("report-every"));
+        if (values.containsKey("threads")) options.threads = Integer.parseInt(values.remove("threads"));
+        if (values.containsKey("seed")) options.seed = Long.parseLong(values.remove("seed"));
+        if (values.containsKey("out")) options.out = Path.of(values.remove("out"));
+        if (values.containsKey("rotate-every")) options.rotateEvery = parseDuration(values.remove("rotate-every"));
+        if (values.containsKey("invalidate-every")) options.invalidateEvery = parseDuration(values.remove("invalidate-every"));
+        if (values.containsKey("max-age")) options.maxAge = parseDuration(values.remove("max-age"));
+        if (values.containsKey("fetch-delay")) options.fetchDelay = parseDuration(values.remove("fetch-delay"));
+        if (values.containsKey("failure-rate")) options.failureRate = Double.parseDouble(values.remove("failure-rate"));
+        if (values.containsKey("push")) options.push = Boolean.parseBoolean(values.remove("push"));
+        if (values.containsKey("stale-slack")) options.staleSlack = parseDuration(values.remove("stale-slack"));
+        options.authUrl = values.remove("auth-url");
+        if (values.containsKey("service-jar")) options.serviceJar = Path.of(values.remove("service-jar"));
+        if (values.containsKey("auth-port")) options.authPort = Integer.parseInt(values.remove("auth-port"));
+        if (values.containsKey("server-jvm-options")) options.serverJvmOptions = values.remove("server-jvm-options");
+        if (values.containsKey("stores")) options.stores = Arrays.asList(values.remove("stores").split(","));
+        if (values.containsKey("chains")) options.chains = Integer.parseInt(values.remove("chains"));
+        if (values.containsKey("racers")) options.racers = Integer.parseInt(values.remove("racers"));
+
+        if (!values.isEmpty()) {
+            throw new IllegalArgumentException("Unknown options: " + values.keySet());
+        }
+        if (options.threads < 3) {
+            throw new IllegalArgumentException("--threads must be at least 3");
+        }
+        if (options.racers < 2) {
+            throw new IllegalArgumentException("--racers must be at least 2, a single racer never races");
+        }
+        return options;
+    }
+
+    /**
+     * Accepts 500ms, 30s, 2m, 1h or an ISO-8601 duration.
+     */
+    static Duration parseDuration(String value) {
+        if (value.endsWith("ms")) return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+        if (value.endsWith("s")) return Duration.ofSeconds(Long.parseLong(value.substring(0, value.length() - 1)));
+        if (value.endsWith("m")) return Duration.ofMinutes(Long.parseLong(value.substring(0, value.length() - 1)));
+        if (value.endsWith("h")) return Duration.ofHours(Long.parseLong(value.substring(0, value.length() - 1)));
+        return Duration.parse(value);
+    }
+}
@@ -0,0 +1,49 @@
+package com.adarsh.autho.forge.stress;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Invariant violations seen by the worker threads: a count per invariant and the first few
+ * occurrences with enough detail to reconstruct the interleaving.
+ */
+final class Violations {
+
+    private static final int EXAMPLES_PER_INVARIANT = 5;
+
+    private final Map<String, AtomicLong> counts = new ConcurrentHashMap<>();
+    private final Map<String, List<String>> examples = new ConcurrentHashMap<>();
+
+    void record(String invariant, String detail) {
+        long n = counts.computeIfAbsent(invariant, k -> new AtomicLong()).incrementAndGet();
+        if (n <= EXAMPLES_PER_INVARIANT) {
+            List<String> list = examples.computeIfAbsent(invariant, k -> new ArrayList<>());
+            synchronized (list) {
+                list.add(detail);
+            }
+        }
+    }
+
+    long total() {
+        return counts.values().stream().mapToLong(AtomicLong::get).sum();
+    }
+
+    void print(PrintStream out) {
+        if (counts.isEmpty()) {
+            out.println("Invariants: all held");
+            return;
+        }
+        out.println("Invariant violations:");
+        counts.forEach((invariant, count) -> {
+            out.printf("  %-28s %d%n", invariant, count.get());
+            List<String> list = examples.getOrDefault(invariant, List.of());
+            synchronized (list) {
+                list.forEach(detail -> out.println("      " + detail));
+            }
+        });
+    }
+}